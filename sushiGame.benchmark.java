@@ -0,0 +1,349 @@
+/* package in benchmark source folder for Sushi-Game containing JMH benchmarks of the model hot paths
+* Benchmarks live in the model package so they can reach BeltImpl and ChefsBelt directly.
+* Requires jmh-core and jmh-generator-annprocess on the benchmark classpath.
+* Classes: BeltRotateBenchmark.java, BeltPlacementBenchmark.java, BeltFindPlateBenchmark.java,
+* ChefBenchmark.java, SushiBenchmark.java
+*/
+
+package src.sushiGame.model;
+
+/* BELT ROTATE BENCHMARK CLASS */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sushiGame.controller.OpponentChefControllers;
+
+// Full game rotation: belt shift, spoilage, consumption and the opponent chef controllers placing plates.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeltRotateBenchmark {
+
+	@Param({"20", "1000", "100000", "1000000"})
+	int belt_size;
+
+	@Param({"5", "20"})
+	int num_customers;
+
+	@Param({"4", "32"})
+	int num_chefs;
+
+	private Belt belt;
+
+	@Setup
+	public void setup() {
+		// Fixed seed so every fork measures the same game.
+		SushiGameModel game_model = new SushiGameModel(belt_size, num_customers, num_chefs, 42L);
+		OpponentChefControllers.assign(game_model);
+		belt = game_model.getBelt();
+
+		// Let the belt fill up before measuring (capped so the largest belts still set up quickly).
+		for (int i=0; i<Math.min(3*belt_size, 1000); i++) {
+			belt.rotate();
+		}
+	}
+
+	@Benchmark
+	public int rotate() {
+		belt.rotate();
+		return belt.getRotationCount();
+	}
+}
+
+/* BELT PLACEMENT BENCHMARK CLASS */
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.PlatePriceException;
+import sushiGame.sushi.Sashimi;
+
+// BeltImpl.setPlateNearestToPosition on belts with different fill levels.
+// Every placed plate is removed again so the fill level stays constant.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeltPlacementBenchmark {
+
+	@Param({"20", "1000", "100000", "1000000"})
+	int belt_size;
+
+	@Param({"0.0", "0.5", "0.9", "0.99"})
+	double fill;
+
+	private BeltImpl belt;
+	private Plate plate;
+	private int[] positions;
+	private int next_position;
+
+	@Setup
+	public void setup() throws PlatePriceException, BeltFullException {
+		belt = new BeltImpl(belt_size);
+		Chef chef = new ChefImpl("Benchmark Chef", 100.0, belt);
+		plate = new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA));
+
+		// Leave at least one free slot so placement never throws. Plates go to the first positions
+		// of a shuffled order, each still free, so setup is linear on any belt implementation.
+		int plates_to_place = Math.min((int) (fill * belt_size), belt_size - 1);
+		Random random = new Random(42);
+		int[] order = new int[belt_size];
+		for (int i=0; i<belt_size; i++) {
+			order[i] = i;
+		}
+		for (int i=0; i<plates_to_place; i++) {
+			int j = i + random.nextInt(belt_size - i);
+			int position = order[j];
+			order[j] = order[i];
+			order[i] = position;
+			belt.setPlateNearestToPosition(new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA)), position);
+		}
+
+		positions = new int[1024];
+		for (int i=0; i<positions.length; i++) {
+			positions[i] = random.nextInt(belt_size);
+		}
+		next_position = 0;
+	}
+
+	@Benchmark
+	public int setPlateNearestToPosition() throws BeltFullException {
+		int position = belt.setPlateNearestToPosition(plate, positions[next_position]);
+		next_position = (next_position + 1) & (positions.length - 1);
+		belt.removePlateAtPosition(position);
+		return position;
+	}
+}
+
+/* BELT FIND PLATE BENCHMARK CLASS */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.PlatePriceException;
+import sushiGame.sushi.Sashimi;
+
+// BeltImpl.findPlate for a plate in the last position and for a plate that is not on the belt.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeltFindPlateBenchmark {
+
+	@Param({"20", "1000", "100000", "1000000"})
+	int belt_size;
+
+	@Param({"0.1", "0.9"})
+	double fill;
+
+	private BeltImpl belt;
+	private Plate last_plate;
+	private Plate missing_plate;
+
+	@Setup
+	public void setup() throws PlatePriceException, BeltFullException {
+		belt = new BeltImpl(belt_size);
+		Chef chef = new ChefImpl("Benchmark Chef", 100.0, belt);
+
+		int plates_to_place = Math.max(1, (int) (fill * belt_size));
+		int stride = belt_size / plates_to_place;
+		for (int i=0; i<plates_to_place-1; i++) {
+			belt.setPlateNearestToPosition(new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA)), i*stride);
+		}
+		last_plate = new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA));
+		belt.setPlateNearestToPosition(last_plate, belt_size-1);
+		missing_plate = new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA));
+	}
+
+	@Benchmark
+	public int findLastPlate() {
+		return belt.findPlate(last_plate);
+	}
+
+	@Benchmark
+	public int findMissingPlate() {
+		return belt.findPlate(missing_plate);
+	}
+}
+
+/* CHEF BENCHMARK CLASS */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.PlatePriceException;
+import sushiGame.sushi.Sashimi;
+
+// ChefImpl.makeAndPlacePlate and ChefImpl.handleBeltEvent for one chef on a belt.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChefBenchmark {
+
+	@Param({"20", "1000", "100000"})
+	int belt_size;
+
+	private BeltImpl belt;
+	private ChefImpl chef;
+	private Plate plate;
+	private BeltEvent rotate_event;
+	private BeltEvent consumed_event;
+
+	// Recreated every iteration so each starts from the same balance, running totals and empty
+	// history ring, rather than from whatever the previous iteration's consumed events left.
+	@Setup(Level.Iteration)
+	public void setup() throws PlatePriceException {
+		belt = new BeltImpl(belt_size);
+		belt.setCustomerAtPosition(new RandomCustomer(0.5), 0);
+		chef = new ChefImpl("Benchmark Chef", 1.0e12, belt);
+		plate = new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA));
+		rotate_event = new RotateEvent();
+		consumed_event = new PlateConsumedEvent(plate, 0);
+	}
+
+	@Benchmark
+	public double makeAndPlacePlate() 
+			throws InsufficientBalanceException, BeltFullException, AlreadyPlacedThisRotationException {
+		chef.handleBeltEvent(rotate_event);
+		chef.makeAndPlacePlate(plate, 0);
+		belt.removePlateAtPosition(0);
+		return chef.getBalance();
+	}
+
+	@Benchmark
+	public double handleRotateEvent() {
+		chef.handleBeltEvent(rotate_event);
+		return chef.getBalance();
+	}
+
+	@Benchmark
+	public double handleConsumedEvent() {
+		chef.handleBeltEvent(consumed_event);
+		return chef.getBalance();
+	}
+}
+
+/* SUSHI BENCHMARK CLASS */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sushiGame.sushi.AvocadoPortion;
+import sushiGame.sushi.CrabPortion;
+import sushiGame.sushi.EelPortion;
+import sushiGame.sushi.IngredientPortion;
+import sushiGame.sushi.Nigiri;
+import sushiGame.sushi.RicePortion;
+import sushiGame.sushi.Roll;
+import sushiGame.sushi.SalmonPortion;
+import sushiGame.sushi.SeaweedPortion;
+import sushiGame.sushi.ShrimpPortion;
+import sushiGame.sushi.Sushi;
+import sushiGame.sushi.TunaPortion;
+
+// Roll aggregates (the same roll RollMakerChefController builds) against Nigiri as a reference.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SushiBenchmark {
+
+	private Sushi roll;
+	private Sushi nigiri;
+
+	@Setup
+	public void setup() {
+		roll = new Roll("Benchmark Roll",
+				new IngredientPortion[] {
+						new AvocadoPortion(0.5),
+						new CrabPortion(0.5),
+						new EelPortion(0.5),
+						new RicePortion(0.5),
+						new SalmonPortion(0.5),
+						new SeaweedPortion(0.5),
+						new ShrimpPortion(0.5),
+						new TunaPortion(0.5),
+		});
+		nigiri = new Nigiri(Nigiri.NigiriType.TUNA);
+	}
+
+	@Benchmark
+	public double rollGetCost() {
+		return roll.getCost();
+	}
+
+	@Benchmark
+	public int rollGetCalories() {
+		return roll.getCalories();
+	}
+
+	@Benchmark
+	public boolean rollGetHasShellfish() {
+		return roll.getHasShellfish();
+	}
+
+	@Benchmark
+	public double nigiriGetCost() {
+		return nigiri.getCost();
+	}
+}
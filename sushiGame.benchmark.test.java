@@ -0,0 +1,86 @@
+/* package in benchmark test folder for Sushi-Game containing smoke tests of the JMH benchmarks
+* Runs each benchmark's setup and a few invocations at the smallest parameters so broken
+* benchmarks fail the test run instead of a long JMH run.
+* Classes: BenchmarkSmokeTest.java
+*/
+
+package test.sushiGame.model;
+
+/* BENCHMARK SMOKE TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class BenchmarkSmokeTest {
+
+	@Test
+	public void beltRotateBenchmarkAdvancesRotation() {
+		BeltRotateBenchmark benchmark = new BeltRotateBenchmark();
+		benchmark.belt_size = 20;
+		benchmark.num_customers = 5;
+		benchmark.num_chefs = 4;
+		benchmark.setup();
+
+		int rotation = benchmark.rotate();
+		assertEquals(rotation + 1, benchmark.rotate());
+	}
+
+	@Test
+	public void beltPlacementBenchmarkKeepsFillLevel() throws Exception {
+		BeltPlacementBenchmark benchmark = new BeltPlacementBenchmark();
+		benchmark.belt_size = 20;
+		benchmark.fill = 0.99;
+		benchmark.setup();
+
+		for (int i=0; i<100; i++) {
+			int position = benchmark.setPlateNearestToPosition();
+			assertTrue(position >= 0 && position < 20);
+		}
+	}
+
+	// The largest parameters must set up in linear time, or a baseline run never gets past setup.
+	@Test(timeout = 20000)
+	public void beltPlacementBenchmarkSetsUpLargestBelt() throws Exception {
+		BeltPlacementBenchmark benchmark = new BeltPlacementBenchmark();
+		benchmark.belt_size = 1000000;
+		benchmark.fill = 0.99;
+		benchmark.setup();
+
+		int position = benchmark.setPlateNearestToPosition();
+		assertTrue(position >= 0 && position < 1000000);
+	}
+
+	@Test
+	public void beltFindPlateBenchmarkFindsLastAndMissesMissing() throws Exception {
+		BeltFindPlateBenchmark benchmark = new BeltFindPlateBenchmark();
+		benchmark.belt_size = 20;
+		benchmark.fill = 0.9;
+		benchmark.setup();
+
+		assertEquals(19, benchmark.findLastPlate());
+		assertEquals(-1, benchmark.findMissingPlate());
+	}
+
+	@Test
+	public void chefBenchmarkPlacesEveryInvocation() throws Exception {
+		ChefBenchmark benchmark = new ChefBenchmark();
+		benchmark.belt_size = 20;
+		benchmark.setup();
+
+		double balance = benchmark.handleRotateEvent();
+		assertTrue(benchmark.makeAndPlacePlate() < balance);
+		assertTrue(benchmark.makeAndPlacePlate() < balance);
+		benchmark.handleConsumedEvent();
+	}
+
+	@Test
+	public void sushiBenchmarkAggregatesArePositive() {
+		SushiBenchmark benchmark = new SushiBenchmark();
+		benchmark.setup();
+
+		assertTrue(benchmark.rollGetCost() > 0.0);
+		assertTrue(benchmark.rollGetCalories() > 0);
+		assertTrue(benchmark.rollGetHasShellfish());
+		assertTrue(benchmark.nigiriGetCost() > 0.0);
+	}
+}
@@ -1,6 +1,7 @@
 /* package in source folder for Sushi-Game containing classes of controller component
 * Classes: NigiriChefController.java, PlayerChefController.java, RollMakerChefController.java, SashimiChefController.java,
-* SushiGameController.java
+* SushiGameController.java, OpponentChefControllers.java, HeadlessGameController.java, RotationScheduler.java,
+* HeadlessRestaurantController.java
 * Interfaces: ChefController_Interface.java
 */
 
@@ -12,6 +13,7 @@ public interface ChefController_Interface extends BeltObserver {
 }
 
 /*  NIGIRI CHEF CONTROLLER CLASS */
+import java.util.SplittableRandom;
 import sushiGame.sushi.BluePlate;
 import sushiGame.sushi.GreenPlate;
 import sushiGame.sushi.Nigiri;
@@ -28,29 +30,35 @@ public class NigiriChefController implements ChefController {
 	private Chef chef;
 	private double makeFrequency;
 	private int belt_size;
+	private SplittableRandom random;
 
 	public NigiriChefController(Chef c, int belt_size) {
+		this(c, belt_size, new SplittableRandom());
+	}
+
+	public NigiriChefController(Chef c, int belt_size, SplittableRandom random) {
 		chef = c;
-		makeFrequency = Math.random() * 0.5 + 0.25;
+		this.random = random;
+		makeFrequency = random.nextDouble() * 0.5 + 0.25;
 		this.belt_size = belt_size;
 	}
 
 	@Override
 	public void handleBeltEvent(BeltEvent e) {
 		if (e.getType() == BeltEvent.EventType.ROTATE) {
-			if (Math.random() < makeFrequency) {
+			if (random.nextDouble() < makeFrequency) {
 				Nigiri.NigiriType type = pickType();
 				Plate plate = null;
 				try {
 					switch(pickColor()) {
 					case RED:
-						plate = new RedPlate(chef, new Nigiri(type)); 
+						plate = new RedPlate(chef, Nigiri.getInstance(type)); 
 						break;
 					case GREEN:
-						plate = new GreenPlate(chef, new Nigiri(type)); 
+						plate = new GreenPlate(chef, Nigiri.getInstance(type)); 
 						break;
 					case BLUE:
-						plate = new BluePlate(chef, new Nigiri(type)); 
+						plate = new BluePlate(chef, Nigiri.getInstance(type)); 
 						break;
 					case GOLD:
 						// This will never happen but need the case for 
@@ -64,7 +72,7 @@ public class NigiriChefController implements ChefController {
 					return;
 				}
 				try {
-					chef.makeAndPlacePlate(plate, (int) (Math.random()*belt_size));
+					chef.makeAndPlacePlate(plate, random.nextInt(belt_size));
 				} catch (InsufficientBalanceException | BeltFullException | AlreadyPlacedThisRotationException exc) {
 					// Too little money, belt too full, or already went this rotation.
 					// Bail and do nothing.
@@ -82,18 +90,19 @@ public class NigiriChefController implements ChefController {
 				Nigiri.NigiriType.TUNA, 
 				Nigiri.NigiriType.SHRIMP
 		};
-		return types[(int) (Math.random()*types.length)];
+		return types[random.nextInt(types.length)];
 	}
 
 	private Plate.Color pickColor() {
 		Plate.Color[] colors = new Plate.Color[] {
 				Plate.Color.RED, Plate.Color.GREEN, Plate.Color.BLUE
 		};
-		return colors[(int) (Math.random()*colors.length)];
+		return colors[random.nextInt(colors.length)];
 	}
 }
 
 /*  PLAYER CHEF CONTROLLER CLASS */
+import javax.swing.SwingUtilities;
 import sushiGame.sushi.BluePlate;
 import sushiGame.sushi.GoldPlate;
 import sushiGame.sushi.GreenPlate;
@@ -111,23 +120,56 @@ import sushiGame.view.SushiGameView;
 public class PlayerChefController implements ChefViewListener {
 	private Chef chef;
 	private SushiGameView game_view;
+	private RotationScheduler scheduler;
 	
 	public PlayerChefController(Chef playerChef, SushiGameView gv) {
+		this(playerChef, gv, null);
+	}
+	
+	// With a scheduler, plates are placed on its model thread and messages come back on the EDT.
+	public PlayerChefController(Chef playerChef, SushiGameView gv, RotationScheduler scheduler) {
 		chef = playerChef;
 		this.game_view = gv;
+		this.scheduler = scheduler;
 	}
 
 	private void placePlate(Plate plate, int position) {
+		if (scheduler == null) {
+			makeAndPlacePlate(plate, position);
+		} else {
+			scheduler.submit(new Runnable() {
+				@Override
+				public void run() {
+					makeAndPlacePlate(plate, position);
+				}
+			});
+		}
+	}
+
+	private void makeAndPlacePlate(Plate plate, int position) {
 		try {
 			chef.makeAndPlacePlate(plate, position);
 		} catch (InsufficientBalanceException e) {
-			game_view.setControllerMessage("Insufficient balance");
+			setControllerMessage("Insufficient balance");
 		} catch (BeltFullException e) {
-			game_view.setControllerMessage("Belt is full");
+			setControllerMessage("Belt is full");
 		} catch (AlreadyPlacedThisRotationException e) {
-			game_view.setControllerMessage("Already placed a plate this rotation");
+			setControllerMessage("Already placed a plate this rotation");
 		} catch (Exception e) {
-			game_view.setControllerMessage(e.getMessage());
+			setControllerMessage(e.getMessage());
+		}
+	}
+
+	private void setControllerMessage(String message) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			game_view.setControllerMessage(message);
+		} else {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					game_view.setControllerMessage(message);
+				}
+			});
 		}
 	}
 
@@ -174,6 +216,7 @@ public class PlayerChefController implements ChefViewListener {
 }
 
 /*  ROLL MAKER CHEF CONTROLLER CLASS */
+import java.util.SplittableRandom;
 import sushiGame.sushi.AvocadoPortion;
 import sushiGame.sushi.CrabPortion;
 import sushiGame.sushi.EelPortion;
@@ -198,10 +241,16 @@ public class RollMakerChefController implements ChefController {
 	private Chef chef;
 	private double makeFrequency;
 	private int belt_size;
+	private SplittableRandom random;
 
 	public RollMakerChefController(Chef c, int belt_size) {
+		this(c, belt_size, new SplittableRandom());
+	}
+
+	public RollMakerChefController(Chef c, int belt_size, SplittableRandom random) {
 		chef = c;
-		makeFrequency = Math.random() * 0.5 + 0.25;
+		this.random = random;
+		makeFrequency = random.nextDouble() * 0.5 + 0.25;
 		this.belt_size = belt_size;
 	}
 
@@ -209,11 +258,11 @@ public class RollMakerChefController implements ChefController {
 	public void handleBeltEvent(BeltEvent e) {
 
 		if (e.getType() == BeltEvent.EventType.ROTATE) {
-			if (Math.random() < makeFrequency) {
+			if (random.nextDouble() < makeFrequency) {
 				Roll random_roll = makeRandomRoll();
 				Plate plate = null;
 				try {
-					plate = new GoldPlate(chef, random_roll, Math.random()*3 + 5.0);
+					plate = new GoldPlate(chef, random_roll, random.nextDouble()*3 + 5.0);
 				}
 				catch (PlatePriceException exc) {
 					// Roll too expensive for price we chose.
@@ -221,7 +270,7 @@ public class RollMakerChefController implements ChefController {
 					return;
 				}
 				try {
-					chef.makeAndPlacePlate(plate, (int) (Math.random()*belt_size));
+					chef.makeAndPlacePlate(plate, random.nextInt(belt_size));
 				} catch (InsufficientBalanceException | BeltFullException | AlreadyPlacedThisRotationException exc) {
 					// Too little money, belt too full, or already went this rotation.
 					// Bail and do nothing.
@@ -235,19 +284,20 @@ public class RollMakerChefController implements ChefController {
 		
 		return new Roll("Random Roll",
 				new IngredientPortion[] {
-						new AvocadoPortion(Math.random()),
-						new CrabPortion(Math.random()),
-						new EelPortion(Math.random()),
-						new RicePortion(Math.random()),
-						new SalmonPortion(Math.random()),
-						new SeaweedPortion(Math.random()),
-						new ShrimpPortion(Math.random()),
-						new TunaPortion(Math.random()),
+						new AvocadoPortion(random.nextDouble()),
+						new CrabPortion(random.nextDouble()),
+						new EelPortion(random.nextDouble()),
+						new RicePortion(random.nextDouble()),
+						new SalmonPortion(random.nextDouble()),
+						new SeaweedPortion(random.nextDouble()),
+						new ShrimpPortion(random.nextDouble()),
+						new TunaPortion(random.nextDouble()),
 		});
 	}
 }
 
 /* SASHIMI CHEF CONTROLLER CLASS */
+import java.util.SplittableRandom;
 import sushiGame.sushi.BluePlate;
 import sushiGame.sushi.GreenPlate;
 import sushiGame.sushi.Plate;
@@ -264,29 +314,35 @@ public class SashimiChefController implements ChefController {
 	private Chef chef;
 	private double makeFrequency;
 	private int belt_size;
+	private SplittableRandom random;
 
 	public SashimiChefController(Chef c, int belt_size) {
+		this(c, belt_size, new SplittableRandom());
+	}
+
+	public SashimiChefController(Chef c, int belt_size, SplittableRandom random) {
 		chef = c;
-		makeFrequency = Math.random() * 0.5 + 0.25;
+		this.random = random;
+		makeFrequency = random.nextDouble() * 0.5 + 0.25;
 		this.belt_size = belt_size;
 	}
 
 	@Override
 	public void handleBeltEvent(BeltEvent e) {
 		if (e.getType() == BeltEvent.EventType.ROTATE) {
-			if (Math.random() < makeFrequency) {
+			if (random.nextDouble() < makeFrequency) {
 				Sashimi.SashimiType type = pickType();
 				Plate plate = null;
 				try {
 					switch(pickColor()) {
 					case RED:
-						plate = new RedPlate(chef, new Sashimi(type)); 
+						plate = new RedPlate(chef, Sashimi.getInstance(type)); 
 						break;
 					case GREEN:
-						plate = new GreenPlate(chef, new Sashimi(type)); 
+						plate = new GreenPlate(chef, Sashimi.getInstance(type)); 
 						break;
 					case BLUE:
-						plate = new BluePlate(chef, new Sashimi(type)); 
+						plate = new BluePlate(chef, Sashimi.getInstance(type)); 
 						break;
 					case GOLD:
 						// This will never happen but need the case for 
@@ -300,7 +356,7 @@ public class SashimiChefController implements ChefController {
 					return;
 				}
 				try {
-					chef.makeAndPlacePlate(plate, (int) (Math.random()*belt_size));
+					chef.makeAndPlacePlate(plate, random.nextInt(belt_size));
 				} catch (InsufficientBalanceException | BeltFullException | AlreadyPlacedThisRotationException exc) {
 					// Too little money, belt too full, or already went this rotation.
 					// Bail and do nothing.
@@ -318,69 +374,428 @@ public class SashimiChefController implements ChefController {
 				Sashimi.SashimiType.TUNA, 
 				Sashimi.SashimiType.SHRIMP
 		};
-		return types[(int) (Math.random()*types.length)];
+		return types[random.nextInt(types.length)];
 	}
 
 	private Plate.Color pickColor() {
 		Plate.Color[] colors = new Plate.Color[] {
 				Plate.Color.RED, Plate.Color.GREEN, Plate.Color.BLUE
 		};
-		return colors[(int) (Math.random()*colors.length)];
+		return colors[random.nextInt(colors.length)];
 	}
 }
 
 /* SUSHI GAME CONTROLLER CLASS */
-import sushiGame.model.Belt;
-import sushiGame.model.Chef;
 import sushiGame.model.SushiGameModel;
+import sushiGame.view.AutoRotationListener;
 import sushiGame.view.RotationRequestListener;
 import sushiGame.view.SushiGameView;
 
-public class SushiGameController implements RotationRequestListener {
+// All model changes go through the scheduler's model thread, so the EDT only queues requests.
+public class SushiGameController implements RotationRequestListener, AutoRotationListener {
 
-	private Belt belt;
+	private RotationScheduler scheduler;
 	
 	public SushiGameController(SushiGameModel game_model, SushiGameView game_view) {
-		belt = game_model.getBelt();
 		game_view.registerRotationRequestListener(this);
+		game_view.registerAutoRotationListener(this);
 		
-		Chef[] opponent_chefs = game_model.getOpponentChefs();
-		
-		for (Chef c: opponent_chefs) {
-			double random_draw = Math.random();
-			ChefController chef_controller = null;
-			String name = createRandomName();
-			
-			if (random_draw < 0.333) {
-				c.setName("Sashimi " + name);
-				chef_controller = new SashimiChefController(c, belt.getSize());
-			} else if (random_draw < 0.66666) {
-				c.setName("Nigiri " + name);
-				chef_controller = new NigiriChefController(c, belt.getSize());				
-			} else {
-				c.setName("Rollmaker " + name);
-				chef_controller = new RollMakerChefController(c, belt.getSize());
-			}
-			belt.registerBeltObserver(chef_controller);
-		}
+		OpponentChefControllers.assign(game_model);
 		
 		// Refresh the game view's scoreboard now that chef names may have been changed.
 		game_view.refreshScoreboard();
 		
-		PlayerChefController player_chef_controller = new PlayerChefController(game_model.getPlayerChef(), game_view);
+		scheduler = new RotationScheduler(game_model.getBelt(), RotationScheduler.OverrunPolicy.SKIP);
+		
+		PlayerChefController player_chef_controller = new PlayerChefController(game_model.getPlayerChef(), game_view, scheduler);
 		game_view.registerPlayerChefListener(player_chef_controller);
 	}
 
 	@Override
 	public void handleRotationRequest() {
-		belt.rotate();
+		scheduler.step();
+	}
+
+	@Override
+	public void handleAutoRotationRequest(boolean run) {
+		if (run) {
+			scheduler.resume();
+		} else {
+			scheduler.pause();
+		}
+	}
+
+	@Override
+	public void handleTickRateRequest(double ticks_per_second) {
+		scheduler.setTickRate(ticks_per_second);
+	}
+}
+
+/* OPPONENT CHEF CONTROLLERS CLASS */
+import java.util.EnumSet;
+import java.util.SplittableRandom;
+import sushiGame.model.Belt;
+import sushiGame.model.BeltEvent;
+import sushiGame.model.Chef;
+import sushiGame.model.RestaurantModel;
+import sushiGame.model.SushiGameModel;
+
+// Picks a random strategy and name for each opponent chef and hooks its controller up to the belt.
+// Shared by the Swing game and the headless simulation so neither depends on the other.
+public class OpponentChefControllers {
+
+	// Name prefixes of the strategies, indexed like pickStrategy's results.
+	private static final String[] STRATEGY_NAMES = {"Sashimi", "Nigiri", "Rollmaker"};
+
+	public static ChefController[] assign(SushiGameModel game_model) {
+		return assign(game_model, game_model.splitRandom());
+	}
+
+	// Each controller gets its own generator split from random, so the draws of one chef never
+	// depend on another's and the whole assignment replays from random's seed.
+	public static ChefController[] assign(SushiGameModel game_model, SplittableRandom random) {
+		Belt belt = game_model.getBelt();
+		Chef[] opponent_chefs = game_model.getOpponentChefs();
+		ChefController[] chef_controllers = new ChefController[opponent_chefs.length];
+		
+		for (int i=0; i<opponent_chefs.length; i++) {
+			Chef c = opponent_chefs[i];
+			int strategy = pickStrategy(random.nextDouble());
+			c.setName(STRATEGY_NAMES[strategy] + " " + createRandomName(random));
+			chef_controllers[i] = createController(strategy, c, belt, random.split());
+		}
+		return chef_controllers;
 	}
 
-	private String createRandomName() {
+	// Same as assign(SushiGameModel) for a restaurant: each opponent picks one strategy and name
+	// and gets a controller with its own generator at every belt it works. Controllers are
+	// indexed [opponent][belt], null where the opponent has no station.
+	public static ChefController[][] assign(RestaurantModel restaurant, SplittableRandom random) {
+		Chef[] opponent_chefs = restaurant.getOpponentChefs();
+		ChefController[][] chef_controllers = new ChefController[opponent_chefs.length][restaurant.getBeltCount()];
+		
+		for (int i=0; i<opponent_chefs.length; i++) {
+			int strategy = pickStrategy(random.nextDouble());
+			opponent_chefs[i].setName(STRATEGY_NAMES[strategy] + " " + createRandomName(random));
+			Chef[] stations = restaurant.getOpponentStations(i);
+			for (int b=0; b<stations.length; b++) {
+				if (stations[b] != null) {
+					chef_controllers[i][b] = createController(strategy, stations[b], restaurant.getBelt(b), random.split());
+				}
+			}
+		}
+		return chef_controllers;
+	}
+
+	private static int pickStrategy(double random_draw) {
+		if (random_draw < 0.333) {
+			return 0;
+		} else if (random_draw < 0.66666) {
+			return 1;
+		}
+		return 2;
+	}
+
+	// Controllers draw every choice they make from the generator given here, so a controller
+	// handed a seeded generator replays exactly.
+	private static ChefController createController(int strategy, Chef c, Belt belt, SplittableRandom random) {
+		ChefController chef_controller;
+		switch (strategy) {
+		case 0:
+			chef_controller = new SashimiChefController(c, belt.getSize(), random);
+			break;
+		case 1:
+			chef_controller = new NigiriChefController(c, belt.getSize(), random);
+			break;
+		default:
+			chef_controller = new RollMakerChefController(c, belt.getSize(), random);
+			break;
+		}
+		// Chef controllers only act on rotations.
+		belt.registerBeltObserver(chef_controller, EnumSet.of(BeltEvent.EventType.ROTATE));
+		return chef_controller;
+	}
+
+	private static String createRandomName(SplittableRandom random) {
 		String[] names = new String[] {
 				"Bob", "Carol", "Alex", "Sejal", "Hussein", 
 				"Ming", "Carlos", "Tom", "Lester", "Maya",
 				"Malcolm", "Grace", "Darius", "Thor", "Keisha"};
-		return names[(int) (Math.random()*names.length)];
+		return names[random.nextInt(names.length)];
+	}
+}
+
+/* HEADLESS GAME CONTROLLER CLASS */
+import sushiGame.model.Belt;
+import sushiGame.model.SushiGameModel;
+
+// Drives a SushiGameModel without any view: opponent chefs are wired up the same way
+// as in the Swing game and rotations are requested directly instead of by a button.
+public class HeadlessGameController {
+
+	private Belt belt;
+	private ChefController[] chef_controllers;
+	
+	public HeadlessGameController(SushiGameModel game_model) {
+		belt = game_model.getBelt();
+		chef_controllers = OpponentChefControllers.assign(game_model);
+	}
+
+	public void rotate(int rotations) {
+		for (int i=0; i<rotations; i++) {
+			belt.rotate();
+		}
+	}
+	
+	public ChefController[] getChefControllers() {
+		return chef_controllers.clone();
+	}
+}
+
+/* ROTATION SCHEDULER CLASS */
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import sushiGame.model.Belt;
+
+// Owns a model thread that rotates the belt at a fixed tick rate while running and runs every
+// other model change submitted to it in between ticks, so the model is only touched from one
+// thread and the EDT never waits on a rotation. A tick that runs past the next tick's start is
+// an overrun: CATCH_UP then rotates back to back until on schedule again (giving up after
+// MAX_CATCH_UP_TICKS), SKIP drops the missed ticks and waits for the next one due.
+public class RotationScheduler {
+	public enum OverrunPolicy {CATCH_UP, SKIP}
+
+	public static final double AS_FAST_AS_POSSIBLE = 0.0;
+	public static final double DEFAULT_TICK_RATE = 2.0;
+	private static final int MAX_CATCH_UP_TICKS = 10;
+	private static final LongSupplier SYSTEM_CLOCK = new LongSupplier() {
+		@Override
+		public long getAsLong() {
+			return System.nanoTime();
+		}
+	};
+
+	private Belt belt;
+	private OverrunPolicy overrun_policy;
+	private LongSupplier clock;
+	private LinkedBlockingQueue<Runnable> tasks;
+	private Thread model_thread;
+	private volatile boolean shut_down;
+
+	// only changed on the model thread
+	private volatile boolean running;
+	private volatile double tick_rate;
+	private long period_nanos;
+	private long next_tick;
+	private volatile long overrun_count;
+	private volatile long skipped_tick_count;
+
+	public RotationScheduler(Belt belt, OverrunPolicy overrun_policy) {
+		this(belt, overrun_policy, SYSTEM_CLOCK);
+		model_thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runLoop();
+			}
+		}, "Sushi model");
+		model_thread.setDaemon(true);
+		model_thread.start();
+	}
+
+	// No model thread is started: the caller drives the scheduler through runPending(), with time
+	// in nanoseconds read from the clock. Lets tests step ticks deterministically.
+	RotationScheduler(Belt belt, OverrunPolicy overrun_policy, LongSupplier clock) {
+		this.belt = belt;
+		this.overrun_policy = overrun_policy;
+		this.clock = clock;
+		tasks = new LinkedBlockingQueue<Runnable>();
+		running = false;
+		tick_rate = DEFAULT_TICK_RATE;
+		period_nanos = periodOf(DEFAULT_TICK_RATE);
+	}
+
+	// Runs the task on the model thread after the tasks submitted before it.
+	public void submit(Runnable task) {
+		if (shut_down) {
+			throw new IllegalStateException("Scheduler is shut down");
+		}
+		tasks.add(task);
+	}
+
+	public void resume() {
+		submit(new Runnable() {
+			@Override
+			public void run() {
+				if (!running) {
+					running = true;
+					next_tick = clock.getAsLong();
+				}
+			}
+		});
+	}
+
+	public void pause() {
+		submit(new Runnable() {
+			@Override
+			public void run() {
+				running = false;
+			}
+		});
+	}
+
+	// Rotates once if paused. Ignored while running.
+	public void step() {
+		submit(new Runnable() {
+			@Override
+			public void run() {
+				if (!running) {
+					belt.rotate();
+				}
+			}
+		});
+	}
+
+	// Ticks per second, or AS_FAST_AS_POSSIBLE (any value <= 0) to rotate without waiting.
+	public void setTickRate(double ticks_per_second) {
+		submit(new Runnable() {
+			@Override
+			public void run() {
+				tick_rate = Math.max(ticks_per_second, AS_FAST_AS_POSSIBLE);
+				period_nanos = periodOf(tick_rate);
+				next_tick = clock.getAsLong();
+			}
+		});
+	}
+
+	public double getTickRate() {
+		return tick_rate;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public long getOverrunCount() {
+		return overrun_count;
+	}
+
+	public long getSkippedTickCount() {
+		return skipped_tick_count;
+	}
+
+	// Stops the model thread once the task or tick in progress finishes. Queued tasks are dropped.
+	public void shutdown() throws InterruptedException {
+		shut_down = true;
+		if (model_thread != null) {
+			model_thread.interrupt();
+			model_thread.join();
+		}
+	}
+
+	// Runs the queued tasks, then the ticks due by now, as the model thread would without waiting.
+	// Only for a scheduler built without a model thread.
+	void runPending() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+		while (running && clock.getAsLong() - next_tick >= 0) {
+			tick();
+			if (period_nanos == 0) {
+				return;
+			}
+		}
+	}
+
+	private void runLoop() {
+		try {
+			while (!shut_down) {
+				Runnable task;
+				if (!running) {
+					task = tasks.take();
+				} else {
+					long wait = next_tick - clock.getAsLong();
+					task = (wait > 0) ? tasks.poll(wait, TimeUnit.NANOSECONDS) : tasks.poll();
+				}
+				
+				if (task != null) {
+					task.run();
+				} else if (running && clock.getAsLong() - next_tick >= 0) {
+					tick();
+				}
+			}
+		} catch (InterruptedException e) {
+			// shut down
+		}
+	}
+
+	private void tick() {
+		belt.rotate();
+		if (period_nanos == 0) {
+			next_tick = clock.getAsLong();
+			return;
+		}
+		
+		next_tick += period_nanos;
+		long late = clock.getAsLong() - next_tick;
+		if (late > 0) {
+			overrun_count++;
+			long missed = late / period_nanos + 1;
+			if (overrun_policy == OverrunPolicy.SKIP || missed > MAX_CATCH_UP_TICKS) {
+				skipped_tick_count += missed;
+				next_tick += missed * period_nanos;
+			}
+		}
+	}
+
+	private static long periodOf(double ticks_per_second) {
+		return (ticks_per_second <= 0) ? 0 : (long) (1000000000L / ticks_per_second);
+	}
+}
+
+/* HEADLESS RESTAURANT CONTROLLER CLASS */
+import sushiGame.model.Belt;
+import sushiGame.model.RestaurantModel;
+
+// Drives a RestaurantModel without any view, rotating every belt on its own thread. A belt and
+// the controllers and stations on it are only touched by that belt's thread; chefs working
+// several belts meet only in their synchronized ChefAccount.
+public class HeadlessRestaurantController {
+
+	private RestaurantModel restaurant;
+	private ChefController[][] chef_controllers;
+
+	public HeadlessRestaurantController(RestaurantModel restaurant) {
+		this.restaurant = restaurant;
+		chef_controllers = OpponentChefControllers.assign(restaurant, restaurant.splitRandom());
+	}
+
+	// Rotates each belt the given number of times, all belts in parallel, and waits for all of them.
+	public void rotate(int rotations) throws InterruptedException {
+		Thread[] belt_threads = new Thread[restaurant.getBeltCount()];
+		for (int b=0; b<belt_threads.length; b++) {
+			Belt belt = restaurant.getBelt(b);
+			belt_threads[b] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i=0; i<rotations; i++) {
+						belt.rotate();
+					}
+				}
+			}, "Belt " + b);
+			belt_threads[b].start();
+		}
+		for (Thread t : belt_threads) {
+			t.join();
+		}
+	}
+
+	public ChefController[][] getChefControllers() {
+		ChefController[][] copy = new ChefController[chef_controllers.length][];
+		for (int i=0; i<copy.length; i++) {
+			copy[i] = chef_controllers[i].clone();
+		}
+		return copy;
 	}
 }
@@ -0,0 +1,228 @@
+/* package in test folder for Sushi-Game containing tests of controller component
+* Classes: HeadlessGameControllerTest.java, RotationSchedulerTest.java
+*/
+
+package test.sushiGame.controller;
+
+/* HEADLESS GAME CONTROLLER TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import sushiGame.model.Chef;
+import sushiGame.model.HistoricalPlate;
+import sushiGame.model.SushiGameModel;
+
+public class HeadlessGameControllerTest {
+
+	@Test
+	public void rotateAdvancesBeltByRequestedRotations() {
+		SushiGameModel game_model = new SushiGameModel(20, 5, 3, 1L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+
+		controller.rotate(7);
+		assertEquals(7, game_model.getBelt().getRotationCount());
+		controller.rotate(0);
+		assertEquals(7, game_model.getBelt().getRotationCount());
+	}
+
+	@Test
+	public void assignsOneNamedControllerPerOpponent() {
+		SushiGameModel game_model = new SushiGameModel(20, 5, 3, 1L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+
+		assertEquals(3, controller.getChefControllers().length);
+		for (Chef c : game_model.getOpponentChefs()) {
+			assertTrue(c.getName(), c.getName().matches("(Sashimi|Nigiri|Rollmaker) \\w+"));
+		}
+	}
+
+	@Test
+	public void opponentsPlaceAndCustomersConsumeWithoutView() {
+		SushiGameModel game_model = new SushiGameModel(20, 5, 3, 1L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+
+		controller.rotate(200);
+		int placed = 0;
+		double total_balance = 0.0;
+		for (Chef c : game_model.getOpponentChefs()) {
+			placed += c.getPlateHistory().length;
+			total_balance += c.getBalance();
+		}
+		assertTrue(placed > 0);
+		assertNotEquals(3 * 100.0, total_balance, 1e-9);
+	}
+
+	// Names, placements and balances all come from the model's seed.
+	@Test
+	public void sameSeedReplaysSameGame() {
+		SushiGameModel first = new SushiGameModel(20, 5, 4, 42L);
+		SushiGameModel second = new SushiGameModel(20, 5, 4, 42L);
+		new HeadlessGameController(first).rotate(300);
+		new HeadlessGameController(second).rotate(300);
+
+		Chef[] first_chefs = first.getOpponentChefs();
+		Chef[] second_chefs = second.getOpponentChefs();
+		for (int i=0; i<first_chefs.length; i++) {
+			assertEquals(first_chefs[i].getName(), second_chefs[i].getName());
+			assertEquals(first_chefs[i].getBalance(), second_chefs[i].getBalance(), 0.0);
+			HistoricalPlate[] first_history = first_chefs[i].getPlateHistory();
+			HistoricalPlate[] second_history = second_chefs[i].getPlateHistory();
+			assertEquals(first_history.length, second_history.length);
+			for (int j=0; j<first_history.length; j++) {
+				assertEquals(first_history[j].getContents().getName(), second_history[j].getContents().getName());
+				assertEquals(first_history[j].getPrice(), second_history[j].getPrice(), 0.0);
+				assertEquals(first_history[j].wasSpoiled(), second_history[j].wasSpoiled());
+			}
+		}
+	}
+
+	@Test
+	public void getChefControllersReturnsCopy() {
+		HeadlessGameController controller = new HeadlessGameController(new SushiGameModel(20, 5, 3, 1L));
+
+		controller.getChefControllers()[0] = null;
+		assertTrue(controller.getChefControllers()[0] != null);
+	}
+}
+
+/* ROTATION SCHEDULER TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.function.LongSupplier;
+import org.junit.Test;
+import sushiGame.model.Belt;
+import sushiGame.model.SushiGameModel;
+
+public class RotationSchedulerTest {
+
+	private static final long MILLIS = 1000000L;
+
+	// Clock the test moves by hand, so ticks come due exactly when the test says.
+	private static class ManualClock implements LongSupplier {
+		private long now;
+
+		@Override
+		public long getAsLong() {
+			return now;
+		}
+
+		void advanceMillis(long millis) {
+			now += millis * MILLIS;
+		}
+	}
+
+	private ManualClock clock = new ManualClock();
+	private Belt belt = new SushiGameModel(20, 5, 0, 1L).getBelt();
+
+	// Running at 10 ticks a second, with the first tick at time 0 done.
+	private RotationScheduler createRunningScheduler(RotationScheduler.OverrunPolicy policy) {
+		RotationScheduler scheduler = new RotationScheduler(belt, policy, clock);
+		scheduler.setTickRate(10.0);
+		scheduler.resume();
+		scheduler.runPending();
+		assertEquals(1, belt.getRotationCount());
+		return scheduler;
+	}
+
+	@Test
+	public void stepRotatesOnlyWhilePaused() {
+		RotationScheduler scheduler = new RotationScheduler(belt, RotationScheduler.OverrunPolicy.SKIP, clock);
+		scheduler.step();
+		scheduler.step();
+		scheduler.runPending();
+		assertEquals(2, belt.getRotationCount());
+		assertTrue(!scheduler.isRunning());
+
+		scheduler.resume();
+		scheduler.runPending();
+		assertTrue(scheduler.isRunning());
+		assertEquals(3, belt.getRotationCount());
+		scheduler.step();
+		scheduler.runPending();
+		assertEquals(3, belt.getRotationCount());
+	}
+
+	@Test
+	public void pauseStopsTicks() {
+		RotationScheduler scheduler = createRunningScheduler(RotationScheduler.OverrunPolicy.CATCH_UP);
+		clock.advanceMillis(100);
+		scheduler.runPending();
+		assertEquals(2, belt.getRotationCount());
+
+		scheduler.pause();
+		clock.advanceMillis(1000);
+		scheduler.runPending();
+		assertTrue(!scheduler.isRunning());
+		assertEquals(2, belt.getRotationCount());
+	}
+
+	@Test
+	public void onScheduleTicksAreNotOverruns() {
+		RotationScheduler scheduler = createRunningScheduler(RotationScheduler.OverrunPolicy.SKIP);
+		for (int i=0; i<5; i++) {
+			clock.advanceMillis(100);
+			scheduler.runPending();
+		}
+		assertEquals(6, belt.getRotationCount());
+		assertEquals(0, scheduler.getOverrunCount());
+	}
+
+	@Test
+	public void catchUpRotatesMissedTicksBackToBack() {
+		RotationScheduler scheduler = createRunningScheduler(RotationScheduler.OverrunPolicy.CATCH_UP);
+		clock.advanceMillis(350);
+		scheduler.runPending();
+
+		// ticks due at 100, 200 and 300 ms, the first two finishing after the next was due
+		assertEquals(4, belt.getRotationCount());
+		assertEquals(2, scheduler.getOverrunCount());
+		assertEquals(0, scheduler.getSkippedTickCount());
+	}
+
+	@Test
+	public void catchUpGivesUpWhenTooFarBehind() {
+		RotationScheduler scheduler = createRunningScheduler(RotationScheduler.OverrunPolicy.CATCH_UP);
+		clock.advanceMillis(1550);
+		scheduler.runPending();
+
+		// the tick due at 100 ms finds 14 ticks missed, more than it catches up on
+		assertEquals(2, belt.getRotationCount());
+		assertEquals(1, scheduler.getOverrunCount());
+		assertEquals(14, scheduler.getSkippedTickCount());
+
+		clock.advanceMillis(50);
+		scheduler.runPending();
+		assertEquals(3, belt.getRotationCount());
+	}
+
+	@Test
+	public void skipDropsMissedTicks() {
+		RotationScheduler scheduler = createRunningScheduler(RotationScheduler.OverrunPolicy.SKIP);
+		clock.advanceMillis(350);
+		scheduler.runPending();
+
+		// the tick due at 100 ms runs; those due at 200 and 300 ms are dropped
+		assertEquals(2, belt.getRotationCount());
+		assertEquals(1, scheduler.getOverrunCount());
+		assertEquals(2, scheduler.getSkippedTickCount());
+
+		clock.advanceMillis(40);
+		scheduler.runPending();
+		assertEquals(2, belt.getRotationCount());
+		clock.advanceMillis(10);
+		scheduler.runPending();
+		assertEquals(3, belt.getRotationCount());
+	}
+
+	@Test
+	public void asFastAsPossibleTicksOncePerRun() {
+		RotationScheduler scheduler = new RotationScheduler(belt, RotationScheduler.OverrunPolicy.SKIP, clock);
+		scheduler.setTickRate(RotationScheduler.AS_FAST_AS_POSSIBLE);
+		scheduler.resume();
+		scheduler.runPending();
+		scheduler.runPending();
+		assertEquals(2, belt.getRotationCount());
+		assertEquals(0, scheduler.getOverrunCount());
+	}
+}
@@ -1,5 +1,6 @@
 /* package in source folder for Sushi-Game containing game
-* Classes: SushiGame.java
+* Classes: SushiGame.java, SushiGameSimulation.java, SushiGameMonteCarlo.java, RunningStatistics.java,
+* StrategyStatistics.java, RestaurantSimulation.java
 */
 
 package src.sushiGame.game;
@@ -28,3 +29,354 @@ public class SushiGame {
 		main_frame.setVisible(true);
 	}
 }
+
+/* SUSHI GAME SIMULATION CLASS */
+import java.io.File;
+import java.io.IOException;
+import sushigame.controller.HeadlessGameController;
+import sushigame.model.BeltEventBus;
+import sushigame.model.Chef;
+import sushigame.model.PlateHistoryWriter;
+import sushigame.model.SushiGameModel;
+
+// Runs the game without Swing as fast as the CPU allows and reports throughput.
+// Usage: SushiGameSimulation [belt_size] [num_customers] [num_chef_opponents] [rotations] [seed] [history_dir]
+// Passing the seed printed by an earlier run replays that run exactly. With a history directory
+// every consumed and spoiled plate is written there on a separate thread.
+public class SushiGameSimulation {
+
+	// Events queued for the history writer before the rotating thread has to wait for it.
+	private static final int HISTORY_QUEUE_CAPACITY = 1 << 16;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int belt_size = intArg(args, 0, 20);
+		int num_customers = intArg(args, 1, 5);
+		int num_chef_opponents = intArg(args, 2, 4);
+		int rotations = intArg(args, 3, 1000000);
+
+		SushiGameModel game_model;
+		if (args.length > 4) {
+			game_model = new SushiGameModel(belt_size, num_customers, num_chef_opponents, Long.parseLong(args[4]));
+		} else {
+			game_model = new SushiGameModel(belt_size, num_customers, num_chef_opponents);
+		}
+		// Chefs and their controllers never keep events, so the belt can reuse them.
+		game_model.setRecycleBeltEvents(true);
+		HeadlessGameController game_controller = new HeadlessGameController(game_model);
+		BeltEventBus bus = new BeltEventBus(game_model.getBelt(), HISTORY_QUEUE_CAPACITY);
+		PlateHistoryWriter history = null;
+		if (args.length > 5) {
+			history = game_model.openPlateHistory(new File(args[5]), bus);
+		}
+
+		long start = System.nanoTime();
+		game_controller.rotate(rotations);
+		long elapsed = System.nanoTime() - start;
+		if (history != null) {
+			history.close();
+		}
+		bus.shutdown();
+
+		double seconds = elapsed / 1.0e9;
+		System.out.println("Belt size: " + belt_size + ", customers: " + num_customers 
+				+ ", opponent chefs: " + num_chef_opponents + ", seed: " + game_model.getSeed());
+		System.out.println(rotations + " rotations in " + Math.round(seconds*1000.0)/1000.0 + " s ("
+				+ Math.round(rotations / seconds) + " rotations/s)");
+
+		System.out.println(game_model.getPlayerChef().getName() 
+				+ " ($" + Math.round(game_model.getPlayerChef().getBalance()*100.0)/100.0 + ")");
+		for (Chef c : game_model.getOpponentChefs()) {
+			System.out.println(c.getName() + " ($" + Math.round(c.getBalance()*100.0)/100.0 + ")");
+		}
+	}
+
+	private static int intArg(String[] args, int index, int default_value) {
+		if (args.length > index) {
+			return Integer.parseInt(args[index]);
+		}
+		return default_value;
+	}
+}
+
+/* RUNNING STATISTICS CLASS */
+// Mean and variance of a stream of samples (Welford's method), mergeable so partial results
+// from different threads combine into the same answer as one sequential pass.
+public class RunningStatistics {
+	// Two-sided 95% normal quantile; trials are many enough that Student's t adds nothing.
+	private static final double Z_95 = 1.96;
+
+	private long count;
+	private double mean;
+	private double sum_squared_deviations;
+
+	public void add(double sample) {
+		count++;
+		double delta = sample - mean;
+		mean += delta / count;
+		sum_squared_deviations += delta * (sample - mean);
+	}
+
+	public void merge(RunningStatistics other) {
+		if (other.count == 0) {
+			return;
+		}
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		sum_squared_deviations += other.sum_squared_deviations + delta * delta * count * other.count / total;
+		count = total;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getStandardDeviation() {
+		return (count < 2) ? 0.0 : Math.sqrt(sum_squared_deviations / (count - 1));
+	}
+
+	// Half width of the 95% confidence interval of the mean.
+	public double getConfidenceHalfWidth() {
+		return (count < 2) ? 0.0 : Z_95 * getStandardDeviation() / Math.sqrt(count);
+	}
+}
+
+/* STRATEGY STATISTICS CLASS */
+// Per-chef results of every trial in which a chef played one controller type. Spoil and
+// consumption rates are fractions of the plates that chef placed.
+public class StrategyStatistics {
+	private RunningStatistics final_balance = new RunningStatistics();
+	private RunningStatistics spoil_rate = new RunningStatistics();
+	private RunningStatistics consumption_rate = new RunningStatistics();
+
+	public void add(double balance, int placed, int spoiled, int consumed) {
+		final_balance.add(balance);
+		if (placed > 0) {
+			spoil_rate.add((double) spoiled / placed);
+			consumption_rate.add((double) consumed / placed);
+		}
+	}
+
+	public void merge(StrategyStatistics other) {
+		final_balance.merge(other.final_balance);
+		spoil_rate.merge(other.spoil_rate);
+		consumption_rate.merge(other.consumption_rate);
+	}
+
+	public RunningStatistics getFinalBalance() {
+		return final_balance;
+	}
+
+	public RunningStatistics getSpoilRate() {
+		return spoil_rate;
+	}
+
+	public RunningStatistics getConsumptionRate() {
+		return consumption_rate;
+	}
+}
+
+/* SUSHI GAME MONTE CARLO CLASS */
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import sushigame.controller.ChefController;
+import sushigame.controller.OpponentChefControllers;
+import sushigame.model.ChefStatisticsSnapshot;
+import sushigame.model.SushiGameModel;
+
+// Plays many independent seeded games on all cores and reports, per opponent controller type,
+// the mean and 95% confidence interval of final balance, spoil rate and consumption rate.
+// Every trial's seed comes from the master seed, so a run with the same arguments (and any
+// thread count) gives the same numbers.
+// Usage: SushiGameMonteCarlo [trials] [rotations] [belt_size] [num_customers] [num_chef_opponents] [seed] [threads]
+public class SushiGameMonteCarlo {
+
+	// Trials a fork join leaf plays itself instead of splitting further.
+	private static final int TRIALS_PER_TASK = 8;
+
+	private int rotations;
+	private int belt_size;
+	private int num_customers;
+	private int num_chef_opponents;
+	private long[] trial_seeds;
+
+	public SushiGameMonteCarlo(int trials, int rotations, int belt_size, int num_customers, 
+			int num_chef_opponents, long seed) {
+		this.rotations = rotations;
+		this.belt_size = belt_size;
+		this.num_customers = num_customers;
+		this.num_chef_opponents = num_chef_opponents;
+		
+		SplittableRandom random = new SplittableRandom(seed);
+		trial_seeds = new long[trials];
+		for (int i=0; i<trials; i++) {
+			trial_seeds[i] = random.nextLong();
+		}
+	}
+
+	// Results keyed by controller class name.
+	public Map<String, StrategyStatistics> run(ForkJoinPool pool) {
+		return pool.invoke(new TrialTask(0, trial_seeds.length));
+	}
+
+	private Map<String, StrategyStatistics> playTrial(long seed, Map<String, StrategyStatistics> results) {
+		SushiGameModel game_model = new SushiGameModel(belt_size, num_customers, num_chef_opponents, seed);
+		// Nothing in a trial keeps events, so the belt can reuse them.
+		game_model.setRecycleBeltEvents(true);
+		ChefController[] controllers = OpponentChefControllers.assign(game_model);
+		game_model.getChefStatistics();
+		for (int i=0; i<rotations; i++) {
+			game_model.getBelt().rotate();
+		}
+		
+		// Statistics index 0 is the idle player; opponents follow in controller order.
+		ChefStatisticsSnapshot snapshot = game_model.getChefStatistics().snapshot();
+		for (int i=0; i<controllers.length; i++) {
+			int chef = i+1;
+			String type = controllers[i].getClass().getSimpleName();
+			StrategyStatistics stats = results.get(type);
+			if (stats == null) {
+				stats = new StrategyStatistics();
+				results.put(type, stats);
+			}
+			stats.add(snapshot.getChef(chef).getBalance(), snapshot.getPlacedCount(chef),
+					snapshot.getSpoiledCount(chef), snapshot.getConsumedCount(chef));
+		}
+		return results;
+	}
+
+	private class TrialTask extends RecursiveTask<Map<String, StrategyStatistics>> {
+		private static final long serialVersionUID = 1L;
+
+		private int from;
+		private int to;
+
+		TrialTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<String, StrategyStatistics> compute() {
+			if (to - from <= TRIALS_PER_TASK) {
+				Map<String, StrategyStatistics> results = new TreeMap<String, StrategyStatistics>();
+				for (int i=from; i<to; i++) {
+					playTrial(trial_seeds[i], results);
+				}
+				return results;
+			}
+			
+			int middle = (from + to) >>> 1;
+			TrialTask left = new TrialTask(from, middle);
+			left.fork();
+			Map<String, StrategyStatistics> results = new TrialTask(middle, to).compute();
+			for (Map.Entry<String, StrategyStatistics> e : left.join().entrySet()) {
+				StrategyStatistics stats = results.get(e.getKey());
+				if (stats == null) {
+					results.put(e.getKey(), e.getValue());
+				} else {
+					stats.merge(e.getValue());
+				}
+			}
+			return results;
+		}
+	}
+
+	public static void main(String[] args) {
+		int trials = intArg(args, 0, 1000);
+		int rotations = intArg(args, 1, 10000);
+		int belt_size = intArg(args, 2, 20);
+		int num_customers = intArg(args, 3, 5);
+		int num_chef_opponents = intArg(args, 4, 4);
+		long seed = (args.length > 5) ? Long.parseLong(args[5]) : new SplittableRandom().nextLong();
+		int threads = intArg(args, 6, Runtime.getRuntime().availableProcessors());
+
+		SushiGameMonteCarlo monte_carlo = new SushiGameMonteCarlo(trials, rotations, belt_size, 
+				num_customers, num_chef_opponents, seed);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		Map<String, StrategyStatistics> results = monte_carlo.run(pool);
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+
+		System.out.println(trials + " trials of " + rotations + " rotations (belt size: " + belt_size 
+				+ ", customers: " + num_customers + ", opponent chefs: " + num_chef_opponents 
+				+ ", seed: " + seed + ") in " + Math.round(elapsed / 1.0e6) / 1000.0 + " s on " + threads + " threads");
+		for (Map.Entry<String, StrategyStatistics> e : results.entrySet()) {
+			StrategyStatistics stats = e.getValue();
+			System.out.println(e.getKey() + " (" + stats.getFinalBalance().getCount() + " chefs)");
+			System.out.println("  final balance:    " + format(stats.getFinalBalance()));
+			System.out.println("  spoil rate:       " + format(stats.getSpoilRate()));
+			System.out.println("  consumption rate: " + format(stats.getConsumptionRate()));
+		}
+	}
+
+	private static String format(RunningStatistics stats) {
+		return String.format("%.4f +/- %.4f (sd %.4f)", stats.getMean(), 
+				stats.getConfidenceHalfWidth(), stats.getStandardDeviation());
+	}
+
+	private static int intArg(String[] args, int index, int default_value) {
+		if (args.length > index) {
+			return Integer.parseInt(args[index]);
+		}
+		return default_value;
+	}
+}
+
+/* RESTAURANT SIMULATION CLASS */
+import java.util.SplittableRandom;
+import sushigame.controller.HeadlessRestaurantController;
+import sushigame.model.Chef;
+import sushigame.model.RestaurantModel;
+
+// Runs a restaurant of several belts, one thread per belt, and prints throughput and the
+// scoreboard across all belts.
+// Usage: RestaurantSimulation [num_belts] [belt_size] [customers_per_belt] [num_chef_opponents] 
+//        [belts_per_chef] [rotations_per_belt] [seed]
+public class RestaurantSimulation {
+
+	public static void main(String[] args) throws InterruptedException {
+		int num_belts = intArg(args, 0, Runtime.getRuntime().availableProcessors());
+		int belt_size = intArg(args, 1, 20);
+		int customers_per_belt = intArg(args, 2, 5);
+		int num_chef_opponents = intArg(args, 3, 2*num_belts);
+		int belts_per_chef = intArg(args, 4, Math.min(2, num_belts));
+		int rotations = intArg(args, 5, 1000000);
+		long seed = (args.length > 6) ? Long.parseLong(args[6]) : new SplittableRandom().nextLong();
+
+		RestaurantModel restaurant = new RestaurantModel(num_belts, belt_size, customers_per_belt, 
+				num_chef_opponents, belts_per_chef, seed);
+		// Chefs and their controllers never keep events, so the belts can reuse them.
+		restaurant.setRecycleBeltEvents(true);
+		HeadlessRestaurantController controller = new HeadlessRestaurantController(restaurant);
+
+		long start = System.nanoTime();
+		controller.rotate(rotations);
+		long elapsed = System.nanoTime() - start;
+
+		double seconds = elapsed / 1.0e9;
+		System.out.println("Belts: " + num_belts + " of size " + belt_size + ", customers per belt: " 
+				+ customers_per_belt + ", opponent chefs: " + num_chef_opponents + " on " + belts_per_chef 
+				+ " belts each, seed: " + seed);
+		System.out.println(num_belts + " x " + rotations + " rotations in " + Math.round(seconds*1000.0)/1000.0 
+				+ " s (" + Math.round(num_belts * (double) rotations / seconds) + " rotations/s)");
+		for (Chef c : restaurant.getScoreboard()) {
+			System.out.println(c.getName() + " ($" + Math.round(c.getBalance()*100.0)/100.0 + ")");
+		}
+	}
+
+	private static int intArg(String[] args, int index, int default_value) {
+		if (args.length > index) {
+			return Integer.parseInt(args[index]);
+		}
+		return default_value;
+	}
+}
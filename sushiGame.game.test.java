@@ -0,0 +1,105 @@
+/* package in test folder for Sushi-Game containing tests of game component
+* Classes: RunningStatisticsTest.java, SushiGameMonteCarloTest.java
+*/
+
+package test.sushiGame.game;
+
+/* RUNNING STATISTICS TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+public class RunningStatisticsTest {
+
+	@Test
+	public void meanAndDeviationOfKnownSamples() {
+		RunningStatistics statistics = new RunningStatistics();
+		for (double sample : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+			statistics.add(sample);
+		}
+		assertEquals(8, statistics.getCount());
+		assertEquals(5.0, statistics.getMean(), 1e-12);
+		assertEquals(Math.sqrt(32.0 / 7.0), statistics.getStandardDeviation(), 1e-12);
+		assertEquals(1.96 * statistics.getStandardDeviation() / Math.sqrt(8), 
+				statistics.getConfidenceHalfWidth(), 1e-12);
+	}
+
+	@Test
+	public void mergeMatchesOneSequentialPass() {
+		SplittableRandom random = new SplittableRandom(7);
+		RunningStatistics all = new RunningStatistics();
+		RunningStatistics left = new RunningStatistics();
+		RunningStatistics right = new RunningStatistics();
+		for (int i=0; i<1000; i++) {
+			double sample = random.nextDouble() * 100.0;
+			all.add(sample);
+			((i < 300) ? left : right).add(sample);
+		}
+		left.merge(right);
+		left.merge(new RunningStatistics());
+
+		assertEquals(all.getCount(), left.getCount());
+		assertEquals(all.getMean(), left.getMean(), 1e-9);
+		assertEquals(all.getStandardDeviation(), left.getStandardDeviation(), 1e-9);
+	}
+
+	@Test
+	public void fewerThanTwoSamplesHaveNoSpread() {
+		RunningStatistics statistics = new RunningStatistics();
+		statistics.add(3.0);
+		assertEquals(0.0, statistics.getStandardDeviation(), 0.0);
+		assertEquals(0.0, statistics.getConfidenceHalfWidth(), 0.0);
+	}
+}
+
+/* SUSHI GAME MONTE CARLO TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public class SushiGameMonteCarloTest {
+
+	private static Map<String, StrategyStatistics> run(long seed, int threads) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			// More trials than one leaf task plays, so the work is split and merged.
+			return new SushiGameMonteCarlo(50, 200, 20, 5, 4, seed).run(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void assertSameStatistics(RunningStatistics expected, RunningStatistics actual) {
+		assertEquals(expected.getCount(), actual.getCount());
+		assertEquals(expected.getMean(), actual.getMean(), 0.0);
+		assertEquals(expected.getStandardDeviation(), actual.getStandardDeviation(), 0.0);
+	}
+
+	// Splitting and merging follow the trial indexes, never the threads, so results match bit for bit.
+	@Test
+	public void sameSeedGivesSameResultsOnAnyThreadCount() {
+		Map<String, StrategyStatistics> sequential = run(11L, 1);
+		Map<String, StrategyStatistics> parallel = run(11L, 4);
+
+		assertEquals(sequential.keySet(), parallel.keySet());
+		long chefs = 0;
+		for (String type : sequential.keySet()) {
+			StrategyStatistics expected = sequential.get(type);
+			StrategyStatistics actual = parallel.get(type);
+			assertSameStatistics(expected.getFinalBalance(), actual.getFinalBalance());
+			assertSameStatistics(expected.getSpoilRate(), actual.getSpoilRate());
+			assertSameStatistics(expected.getConsumptionRate(), actual.getConsumptionRate());
+			chefs += expected.getFinalBalance().getCount();
+		}
+		assertEquals(50 * 4, chefs);
+	}
+
+	@Test
+	public void resultsAreKeyedByControllerType() {
+		for (String type : run(3L, 2).keySet()) {
+			assertTrue(type, type.matches("(Sashimi|Nigiri|RollMaker)ChefController"));
+		}
+	}
+}
@@ -2,6 +2,10 @@
 * Classes: BeltEvent.java, BeltFullException.java, BeltImpl.java, BeltPlateException.java, ChefImpl.java
 * HistoricalPlateImpl.java, InsufficientBalanceException.java, PlateConsumedEvent.java, PlateEvent.java, PlatePlacedEvent.java,
 * PlateSpoiledEvent.java, RandomCustomer.java, RotateEvent.java, SushiGameModel.java, TimedPlateImpl.java,
+* PlateEntryBuffer.java, RotationSummaryEvent.java, AsyncBeltObserver.java, BeltEventBus.java, MappedColumn.java,
+* PlateHistoryColumn.java, PlateHistoryReader.java, PlateHistoryWriter.java, ChefStatistics.java,
+* ChefStatisticsSnapshot.java, ModelSnapshot.java, SnapshotPublisher.java, ChefAccount.java, RestaurantModel.java,
+* RestaurantChef.java
 * Interfaces: Belt_Interface.java, BeltObserver_Interface.java, Chef_Interface.java, ChefsBelt_Interface.java,
 * Customer_Interface.java, Historical_Interface.java, TimedPlate.java
 */
@@ -9,6 +13,7 @@
 package src.sushiGame.game;
 
 /* BELT INTERFACE */
+import java.util.EnumSet;
 import sushiGame.sushi.Plate;
 
 public interface Belt_Interface {
@@ -18,7 +23,10 @@ public interface Belt_Interface {
 	Plate getPlateAtPosition(int position);
 	int getAgeOfPlateAtPosition(int position);
 	int findPlate(Plate plate);
+	// Registers for every individual event; ROTATION_SUMMARY has to be asked for explicitly.
 	void registerBeltObserver(BeltObserver o);
+	// Only events of the given types are delivered to the observer.
+	void registerBeltObserver(BeltObserver o, EnumSet<BeltEvent.EventType> event_types);
 	void unregisterBeltObserver(BeltObserver o);
 	Customer getCustomerAtPosition(int position);
 }
@@ -43,6 +51,12 @@ public interface Chef_Interface {
 	
 	double getBalance();
 	
+	// Running totals over every plate of this chef, including those no longer kept in the history.
+	int getConsumedCount(Plate.Color color);
+	int getSpoiledCount(Plate.Color color);
+	double getRevenue(Plate.Color color);
+	double getProfit(Plate.Color color);
+	
 	boolean alreadyPlacedThisRotation();
 }
 
@@ -72,19 +86,284 @@ public interface TimedPlate_Interface extends Plate {
 	Plate getOriginal();
 }
 
+/* ASYNC BELT OBSERVER CLASS */
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Delivers belt events to another observer on its own consumer thread through a bounded ring buffer,
+// so a slow observer (a view, metrics, logging) never holds up the thread that rotates the belt.
+// Usually created through BeltEventBus.subscribe; observers the model depends on, such as ChefImpl,
+// stay registered with the belt directly. Events reach the delegate in the order the belt fired them.
+// The delegate runs concurrently with the belt, so it must work from the event alone: queued events
+// are never recycled and their plates are immutable, but the belt is not thread safe and BeltImpl
+// throws IllegalStateException when it is used from a delivery thread.
+// When the buffer is full the backpressure policy decides what happens: BLOCK waits for room,
+// DROP discards the new event and COALESCE merges a ROTATE into a ROTATE already queued last,
+// which suits observers that only need to know the belt moved. COALESCE blocks for any other event,
+// since merging those would lose plates.
+// If the delegate throws, the observer is dead: queued and later events are discarded, so the belt
+// never waits on it, and shutdown() rethrows the exception.
+public class AsyncBeltObserver implements BeltObserver {
+	public enum Backpressure {BLOCK, DROP, COALESCE}
+
+	private BeltObserver delegate;
+	private Backpressure backpressure;
+	private BeltEvent[] ring;
+	private long head;
+	private long tail;
+	private long dropped_count;
+	private boolean running;
+	private RuntimeException failure;
+	private ReentrantLock lock;
+	private Condition not_empty;
+	private Condition not_full;
+	private Thread consumer;
+
+	// Marks consumer threads so the belt can refuse calls made from them.
+	private static class DeliveryThread extends Thread {
+		DeliveryThread(Runnable target, String name) {
+			super(target, name);
+		}
+	}
+
+	public AsyncBeltObserver(BeltObserver delegate, int capacity, Backpressure backpressure) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Observer is null");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be greater than zero.");
+		}
+
+		this.delegate = delegate;
+		this.backpressure = backpressure;
+		ring = new BeltEvent[capacity];
+		head = 0;
+		tail = 0;
+		dropped_count = 0;
+		running = true;
+		lock = new ReentrantLock();
+		not_empty = lock.newCondition();
+		not_full = lock.newCondition();
+
+		consumer = new DeliveryThread(new Runnable() {
+			@Override
+			public void run() {
+				deliverEvents();
+			}
+		}, "Belt observer " + delegate.getClass().getSimpleName());
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	@Override
+	public void handleBeltEvent(BeltEvent e) {
+		lock.lock();
+		try {
+			while (running && tail - head == ring.length) {
+				if (backpressure == Backpressure.DROP || (backpressure == Backpressure.COALESCE && canCoalesce(e))) {
+					dropped_count++;
+					return;
+				}
+				not_full.awaitUninterruptibly();
+			}
+			if (!running) {
+				return;
+			}
+			// Recycled events are overwritten by the belt once delivery returns, so queue a copy.
+			ring[(int) (tail % ring.length)] = e.isRecycled() ? e.copy() : e;
+			tail++;
+			not_empty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Only a rotation following a queued rotation is merged; the queued one stands for both.
+	private boolean canCoalesce(BeltEvent e) {
+		return e.getType() == BeltEvent.EventType.ROTATE
+				&& ring[(int) ((tail - 1) % ring.length)].getType() == BeltEvent.EventType.ROTATE;
+	}
+
+	// True on the thread delivering events to an asynchronous observer.
+	static boolean isDeliveryThread() {
+		return Thread.currentThread() instanceof DeliveryThread;
+	}
+
+	public BeltObserver getDelegate() {
+		return delegate;
+	}
+
+	// Number of events dropped or coalesced away because the buffer was full.
+	public long getDroppedCount() {
+		lock.lock();
+		try {
+			return dropped_count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// True once the delegate has thrown; it gets no more events.
+	public boolean isFailed() {
+		lock.lock();
+		try {
+			return failure != null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Stops accepting events, lets the consumer deliver what is already queued and waits for it to
+	// finish. Throws what the delegate threw, if it failed.
+	public void shutdown() throws InterruptedException {
+		lock.lock();
+		try {
+			running = false;
+			not_empty.signalAll();
+			not_full.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		consumer.join();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void deliverEvents() {
+		while (true) {
+			BeltEvent e;
+			lock.lock();
+			try {
+				while (running && head == tail) {
+					not_empty.awaitUninterruptibly();
+				}
+				if (head == tail) {
+					return;
+				}
+				int index = (int) (head % ring.length);
+				e = ring[index];
+				ring[index] = null;
+				head++;
+				not_full.signal();
+			} finally {
+				lock.unlock();
+			}
+			try {
+				delegate.handleBeltEvent(e);
+			} catch (RuntimeException exc) {
+				fail(exc);
+				return;
+			}
+		}
+	}
+
+	// Drops everything queued and wakes a producer waiting for room, which then sees it stopped.
+	private void fail(RuntimeException exc) {
+		lock.lock();
+		try {
+			failure = exc;
+			running = false;
+			while (head != tail) {
+				ring[(int) (head % ring.length)] = null;
+				head++;
+			}
+			not_full.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
+
+/* BELT EVENT BUS CLASS */
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Dispatches a belt's events to observers that should not run on the thread rotating the belt,
+// such as views, metrics and logging. Each subscriber gets its own AsyncBeltObserver, so every
+// subscriber sees events in belt order and a slow one holds up nobody but itself. Observers the
+// model depends on (ChefImpl, SnapshotPublisher) register with the belt directly and stay on the
+// synchronous path. Subscribe and unsubscribe from the thread that drives the belt.
+public class BeltEventBus {
+	private Belt belt;
+	private int capacity;
+	private Map<BeltObserver, AsyncBeltObserver> subscribers;
+
+	public BeltEventBus(Belt belt, int capacity) {
+		this.belt = belt;
+		this.capacity = capacity;
+		subscribers = new IdentityHashMap<BeltObserver, AsyncBeltObserver>();
+	}
+
+	public AsyncBeltObserver subscribe(BeltObserver o, EnumSet<BeltEvent.EventType> event_types, 
+			AsyncBeltObserver.Backpressure backpressure) {
+		if (subscribers.containsKey(o)) {
+			throw new IllegalArgumentException("Observer is already subscribed");
+		}
+
+		AsyncBeltObserver async_observer = new AsyncBeltObserver(o, capacity, backpressure);
+		subscribers.put(o, async_observer);
+		belt.registerBeltObserver(async_observer, event_types);
+		return async_observer;
+	}
+
+	// Stops delivering to o and waits until it has handled every event already queued for it.
+	public void unsubscribe(BeltObserver o) throws InterruptedException {
+		AsyncBeltObserver async_observer = subscribers.remove(o);
+		if (async_observer != null) {
+			belt.unregisterBeltObserver(async_observer);
+			async_observer.shutdown();
+		}
+	}
+
+	// Unsubscribes everyone, then throws the first failure of a subscriber, if any.
+	public void shutdown() throws InterruptedException {
+		RuntimeException failure = null;
+		for (BeltObserver o : new ArrayList<BeltObserver>(subscribers.keySet())) {
+			try {
+				unsubscribe(o);
+			} catch (RuntimeException exc) {
+				if (failure == null) {
+					failure = exc;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
+
 /* BELT EVENT CLASS */
 abstract public class BeltEvent {
-	public enum EventType {PLATE_PLACED, PLATE_CONSUMED, PLATE_SPOILED, ROTATE}
+	public enum EventType {PLATE_PLACED, PLATE_CONSUMED, PLATE_SPOILED, ROTATE, ROTATION_SUMMARY}
 
 	private BeltEvent.EventType type;
+	private boolean recycled;
 
 	public BeltEvent(EventType type) {
 		this.type = type;
+		this.recycled = false;
 	}
 	
 	public BeltEvent.EventType getType() {
 		return type;
 	}
+	
+	// A recycled event is reused by the belt for later events of the same type, so observers
+	// must not keep a reference to it after handleBeltEvent returns. Use copy() to keep one.
+	public boolean isRecycled() {
+		return recycled;
+	}
+	
+	void markRecycled() {
+		recycled = true;
+	}
+	
+	// Returns an event with the same contents that is safe to keep.
+	abstract public BeltEvent copy();
 }
 
 /* BELT FULL EXCEPTION CLASS */
@@ -102,26 +381,113 @@ public class BeltFullException extends Exception {
 
 /* BELT IMPLEMENTATION CLASS */
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import sushiGame.sushi.Plate;
 import sushiGame.sushi.Sushi;
 
 class BeltImpl implements ChefsBelt {
 
-	private TimedPlate[] belt;
+	// Slot state is kept in parallel primitive arrays indexed by slot so scans are linear passes
+	// over packed memory. slot_handle indexes plate_table and is -1 for an empty slot; handles
+	// of removed plates are recycled through free_handles.
+	private int[] slot_handle;
+	private int[] slot_incept;
+	private Plate[] plate_table;
+	private int[] free_handles;
+	private int free_handle_count;
+	
+	// Slot holding logical position 0. Rotating moves the head back one slot
+	// instead of shifting every plate forward, so plates never move in the arrays.
+	private int head;
 	private int rotation_count;
 	private Customer[] customers;
-	private List<BeltObserver> belt_observers;
+	// Observers are kept in one list per event type so each event only reaches those that asked for it.
+	private EnumMap<BeltEvent.EventType, List<BeltObserver>> belt_observers;
+	private static final EnumSet<BeltEvent.EventType> INDIVIDUAL_EVENTS = EnumSet.of(
+			BeltEvent.EventType.PLATE_PLACED, BeltEvent.EventType.PLATE_CONSUMED,
+			BeltEvent.EventType.PLATE_SPOILED, BeltEvent.EventType.ROTATE);
+	
+	// Changes since the last rotation, collected only while someone listens for ROTATION_SUMMARY.
+	private PlateEntryBuffer placed_entries;
+	private PlateEntryBuffer spoiled_entries;
+	private PlateEntryBuffer consumed_entries;
+	
+	// Pre-allocated events reused for every delivery while recycling is on, indexed by event type.
+	// An instance already being delivered further up the stack is never reused for a nested event.
+	private boolean recycle_events;
+	private BeltEvent[] recycled_events;
+	private boolean[] recycled_event_in_use;
+	
+	// One bit per slot, set while the slot holds a plate.
+	private long[] occupied;
+	// Positions with a seated customer in ascending order; only the first seated_count are used.
+	private int[] seated_positions;
+	private int seated_count;
+	
+	// Spoilage timing wheel. A plate's spoil rotation is fixed when it is placed, so each
+	// slot is linked into the wheel bucket for that rotation and rotate() only
+	// visits the bucket for the current tick. Buckets are doubly linked lists of slots
+	// threaded through expiry_next / expiry_prev. Rotations are compared with == and bucketed
+	// with floorMod, so both keep working after the rotation count wraps past Integer.MAX_VALUE;
+	// every int is a valid expiry_rotation, hence the separate expiry_scheduled flag.
+	private int[] expiry_wheel;
+	private int[] expiry_rotation;
+	private boolean[] expiry_scheduled;
+	private int[] expiry_next;
+	private int[] expiry_prev;
+	private int[] spoiled_positions;
 	
 	public BeltImpl(int size) {
+		this(size, 0);
+	}
+	
+	// Starts the belt at first_rotation instead of 0, e.g. to exercise the rotation count wrapping.
+	BeltImpl(int size, int first_rotation) {
 		if (size < 1) {
 			throw new IllegalArgumentException("Belt size must be greater than zero.");
 		}
 
-		belt = new TimedPlate[size];
+		slot_handle = new int[size];
+		Arrays.fill(slot_handle, -1);
+		slot_incept = new int[size];
+		plate_table = new Plate[size];
+		free_handles = new int[size];
+		for (int i=0; i<size; i++) {
+			free_handles[i] = size-1-i;
+		}
+		free_handle_count = size;
 		customers = new Customer[size];
-		rotation_count = 0;
-		belt_observers = new ArrayList<BeltObserver>();
+		head = 0;
+		rotation_count = first_rotation;
+		belt_observers = new EnumMap<BeltEvent.EventType, List<BeltObserver>>(BeltEvent.EventType.class);
+		for (BeltEvent.EventType type : BeltEvent.EventType.values()) {
+			belt_observers.put(type, new ArrayList<BeltObserver>());
+		}
+		placed_entries = new PlateEntryBuffer();
+		spoiled_entries = new PlateEntryBuffer();
+		consumed_entries = new PlateEntryBuffer();
+		recycle_events = false;
+		recycled_events = new BeltEvent[BeltEvent.EventType.values().length];
+		recycled_event_in_use = new boolean[recycled_events.length];
+		occupied = new long[(size + 63) >>> 6];
+		// Bits past the end of the belt in the last word are marked taken so searches never return them.
+		if ((size & 63) != 0) {
+			occupied[occupied.length-1] = -1L << size;
+		}
+		seated_positions = new int[size];
+		seated_count = 0;
+		
+		// No plate lives longer than 3 belt lengths, so that many buckets never wrap onto a live one.
+		expiry_wheel = new int[3 * size];
+		Arrays.fill(expiry_wheel, -1);
+		expiry_rotation = new int[size];
+		expiry_scheduled = new boolean[size];
+		expiry_next = new int[size];
+		expiry_prev = new int[size];
+		spoiled_positions = new int[size];
 	}
 
 	@Override
@@ -131,77 +497,118 @@ class BeltImpl implements ChefsBelt {
 
 	@Override
 	public int getSize() {
-		return belt.length;
+		return slot_handle.length;
 	}
 	
 	@Override
 	public Customer getCustomerAtPosition(int position) {
+		checkNotDeliveryThread();
 		return customers[normalizePosition(position)];
 	}
 
 	@Override
 	public int setPlateNearestToPosition(Plate plate, int position) throws BeltFullException {
-		for (int i=0; i<getSize(); i++) {
-			try {
-				setPlateAtPosition(plate, position);
-				return normalizePosition(position);
-			} catch (BeltPlateException e) {
-				position += 1;
-			}
+		checkNotDeliveryThread();
+		if (plate == null) {
+			throw new IllegalArgumentException("Plate is null");
+		}
+
+		int slot = nextFreeSlot(slotIndex(position));
+		if (slot == -1) {
+			throw new BeltFullException(this);
 		}
-		throw new BeltFullException(this);
+		setPlateInSlot(plate, slot);
+		return positionOfSlot(slot);
 	}
 
 
 	@Override
 	public void rotate() {
-		TimedPlate last_plate = belt[getSize()-1];
-		for (int i=getSize()-1; i>0; i--) {
-			belt[i] = belt[i-1];
-		}
-		belt[0] = last_plate;
+		checkNotDeliveryThread();
+		head = (head == 0) ? getSize()-1 : head-1;
 		rotation_count++;
 
-		notifyBeltObservers(new RotateEvent());
+		if (hasBeltObservers(BeltEvent.EventType.ROTATE)) {
+			if (recycle_events) {
+				notifyBeltObservers(recycled_events[BeltEvent.EventType.ROTATE.ordinal()]);
+			} else {
+				notifyBeltObservers(new RotateEvent());
+			}
+		}
 		
-		for (int i=0; i<getSize(); i++) {
-			if (plateAtPositionIsSpoiled(i)) {
-				Plate spoiled_plate = removePlateAtPosition(i);
-				notifyBeltObservers(new PlateSpoiledEvent(spoiled_plate, i));
+		// Collect the plates spoiling on this tick first and report them in position order.
+		int spoiled_count = 0;
+		int bucket = Math.floorMod(rotation_count, expiry_wheel.length);
+		for (int slot = expiry_wheel[bucket]; slot != -1; slot = expiry_next[slot]) {
+			if (expiry_rotation[slot] == rotation_count) {
+				spoiled_positions[spoiled_count++] = positionOfSlot(slot);
 			}
 		}
+		Arrays.sort(spoiled_positions, 0, spoiled_count);
 		
-		for (int i=0; i<getSize(); i++) {
-			if (customers[i] != null) {
-				Plate plate = getPlateAtPosition(i);
-				if (plate != null) {
-					if (customers[i].consumesPlate(plate)) {
-						removePlateAtPosition(i);
-						notifyBeltObservers(new PlateConsumedEvent(plate, i));			
-					}
+		for (int i=0; i<spoiled_count; i++) {
+			// An observer of an earlier spoilage may have removed this plate or put a fresh one in its slot.
+			int slot = slotIndex(spoiled_positions[i]);
+			if (expiry_scheduled[slot] && expiry_rotation[slot] == rotation_count) {
+				Plate spoiled_plate = removePlateAtPosition(spoiled_positions[i]);
+				notifyPlateSpoiled(spoiled_plate, spoiled_positions[i]);
+			}
+		}
+		
+		// Only seated positions can consume, and only if their slot holds a plate.
+		for (int i=0; i<seated_count; i++) {
+			int position = seated_positions[i];
+			int slot = slotIndex(position);
+			if (isOccupied(slot)) {
+				Plate plate = plate_table[slot_handle[slot]];
+				if (customers[position].consumesPlate(plate)) {
+					int age = rotation_count - slot_incept[slot];
+					removePlateAtPosition(position);
+					notifyPlateConsumed(plate, position, age);
 				}
 			}
 		}
+		
+		if (hasBeltObservers(BeltEvent.EventType.ROTATION_SUMMARY)) {
+			RotationSummaryEvent summary;
+			if (recycle_events) {
+				summary = (RotationSummaryEvent) recycled_events[BeltEvent.EventType.ROTATION_SUMMARY.ordinal()];
+				summary.reset(rotation_count, placed_entries, spoiled_entries, consumed_entries);
+			} else {
+				summary = new RotationSummaryEvent(rotation_count,
+						placed_entries.getPlates(), placed_entries.getPositions(),
+						spoiled_entries.getPlates(), spoiled_entries.getPositions(),
+						consumed_entries.getPlates(), consumed_entries.getPositions());
+			}
+			notifyBeltObservers(summary);
+		}
+		placed_entries.clear();
+		spoiled_entries.clear();
+		consumed_entries.clear();
 	}
 
 	@Override
 	public int getAgeOfPlateAtPosition(int position) {
-		position = normalizePosition(position);
-		if (belt[position] == null) {
+		checkNotDeliveryThread();
+		int slot = slotIndex(position);
+		if (slot_handle[slot] == -1) {
 			return -1;
 		} else {
-			return getRotationCount() - belt[position].getInceptDate();
+			return getRotationCount() - slot_incept[slot];
 		}
 	}
 
 	@Override
 	public int findPlate(Plate plate) {
+		checkNotDeliveryThread();
 		if (plate == null) {
 			return -1;
 		}
 		
+		// Scan slots starting at the head so the lowest matching position is found first.
 		for (int i=0; i<getSize(); i++) {
-			if (getPlateAtPosition(i) == plate) {
+			int slot = slotIndex(i);
+			if (slot_handle[slot] != -1 && plate_table[slot_handle[slot]] == plate) {
 				return i;
 			}
 		}
@@ -210,93 +617,286 @@ class BeltImpl implements ChefsBelt {
 
 	@Override
 	public void registerBeltObserver(BeltObserver o) {
-		belt_observers.add(o);
+		registerBeltObserver(o, INDIVIDUAL_EVENTS);
+	}
+	
+	@Override
+	public void registerBeltObserver(BeltObserver o, EnumSet<BeltEvent.EventType> event_types) {
+		checkNotDeliveryThread();
+		for (BeltEvent.EventType type : event_types) {
+			belt_observers.get(type).add(o);
+		}
 	}
 	
 	@Override
 	public void unregisterBeltObserver(BeltObserver o) {
-		belt_observers.remove(o);
+		checkNotDeliveryThread();
+		for (List<BeltObserver> observers : belt_observers.values()) {
+			observers.remove(o);
+		}
 	}
 	
 	private void notifyBeltObservers(BeltEvent event) {
-		for (BeltObserver o : belt_observers) {
+		for (BeltObserver o : belt_observers.get(event.getType())) {
 			o.handleBeltEvent(event);
 		}
 	}
+	
+	private boolean hasBeltObservers(BeltEvent.EventType type) {
+		return !belt_observers.get(type).isEmpty();
+	}
+	
+	// The plate notifications below skip building events nobody is registered for.
+	private void notifyPlatePlaced(Plate plate, int position) {
+		if (hasBeltObservers(BeltEvent.EventType.ROTATION_SUMMARY)) {
+			placed_entries.add(plate, position);
+		}
+		if (hasBeltObservers(BeltEvent.EventType.PLATE_PLACED)) {
+			notifyPlateEvent(BeltEvent.EventType.PLATE_PLACED, plate, position);
+		}
+	}
+	
+	private void notifyPlateSpoiled(Plate plate, int position) {
+		if (hasBeltObservers(BeltEvent.EventType.ROTATION_SUMMARY)) {
+			spoiled_entries.add(plate, position);
+		}
+		if (hasBeltObservers(BeltEvent.EventType.PLATE_SPOILED)) {
+			notifyPlateEvent(BeltEvent.EventType.PLATE_SPOILED, plate, position);
+		}
+	}
+	
+	private void notifyPlateConsumed(Plate plate, int position, int age) {
+		if (hasBeltObservers(BeltEvent.EventType.ROTATION_SUMMARY)) {
+			consumed_entries.add(plate, position);
+		}
+		if (hasBeltObservers(BeltEvent.EventType.PLATE_CONSUMED)) {
+			int i = BeltEvent.EventType.PLATE_CONSUMED.ordinal();
+			if (recycle_events && !recycled_event_in_use[i]) {
+				((PlateConsumedEvent) recycled_events[i]).setAge(age);
+				notifyPlateEvent(BeltEvent.EventType.PLATE_CONSUMED, plate, position);
+				((PlateConsumedEvent) recycled_events[i]).setAge(-1);
+			} else {
+				notifyBeltObservers(new PlateConsumedEvent(plate, position, age));
+			}
+		}
+	}
+	
+	private void notifyPlateEvent(BeltEvent.EventType type, Plate plate, int position) {
+		int i = type.ordinal();
+		if (recycle_events && !recycled_event_in_use[i]) {
+			PlateEvent event = (PlateEvent) recycled_events[i];
+			event.reset(plate, position);
+			recycled_event_in_use[i] = true;
+			try {
+				notifyBeltObservers(event);
+			} finally {
+				recycled_event_in_use[i] = false;
+				event.reset(null, -1);
+			}
+			return;
+		}
+		
+		switch (type) {
+		case PLATE_PLACED:
+			notifyBeltObservers(new PlatePlacedEvent(plate, position));
+			break;
+		case PLATE_SPOILED:
+			notifyBeltObservers(new PlateSpoiledEvent(plate, position));
+			break;
+		case PLATE_CONSUMED:
+			notifyBeltObservers(new PlateConsumedEvent(plate, position));
+			break;
+		default:
+			throw new IllegalArgumentException("Not a plate event type: " + type);
+		}
+	}
+	
+	// With recycling on, every delivery reuses one pre-allocated event per type and observers
+	// must not keep events past handleBeltEvent (see BeltEvent.isRecycled).
+	void setRecycleEvents(boolean recycle) {
+		if (recycle && recycled_events[BeltEvent.EventType.ROTATE.ordinal()] == null) {
+			recycled_events[BeltEvent.EventType.PLATE_PLACED.ordinal()] = new PlatePlacedEvent(null, -1);
+			recycled_events[BeltEvent.EventType.PLATE_CONSUMED.ordinal()] = new PlateConsumedEvent(null, -1);
+			recycled_events[BeltEvent.EventType.PLATE_SPOILED.ordinal()] = new PlateSpoiledEvent(null, -1);
+			recycled_events[BeltEvent.EventType.ROTATE.ordinal()] = new RotateEvent();
+			recycled_events[BeltEvent.EventType.ROTATION_SUMMARY.ordinal()] = new RotationSummaryEvent(0, 
+					new Plate[0], new int[0], new Plate[0], new int[0], new Plate[0], new int[0]);
+			for (BeltEvent e : recycled_events) {
+				e.markRecycled();
+			}
+		}
+		recycle_events = recycle;
+	}
 
 	@Override
 	public Plate getPlateAtPosition(int position) {
-		position = normalizePosition(position);
-		if (belt[position] != null) {
-			return belt[position].getOriginal();
+		checkNotDeliveryThread();
+		int handle = slot_handle[slotIndex(position)];
+		if (handle != -1) {
+			return plate_table[handle];
 		} else {
 			return null;
 		}
 	}
 
-	private Plate removePlateAtPosition(int position) {
+	Plate removePlateAtPosition(int position) {
 		Plate plate = getPlateAtPosition(position);
 		clearPlateAtPosition(position);
 		return plate;
 	}
 
 	void setCustomerAtPosition(Customer c, int position) {
-		customers[normalizePosition(position)] = c;
-	}
-	
-	private void setPlateAtPosition(Plate plate, int position) throws BeltPlateException {
 		position = normalizePosition(position);
-
-		if (plate == null) {
-			throw new IllegalArgumentException("Plate is null");
+		boolean was_seated = (customers[position] != null);
+		customers[position] = c;
+		
+		if (c != null && !was_seated) {
+			int i = seated_count;
+			while (i > 0 && seated_positions[i-1] > position) {
+				seated_positions[i] = seated_positions[i-1];
+				i--;
+			}
+			seated_positions[i] = position;
+			seated_count++;
+		} else if (c == null && was_seated) {
+			int i = Arrays.binarySearch(seated_positions, 0, seated_count, position);
+			System.arraycopy(seated_positions, i+1, seated_positions, i, seated_count-i-1);
+			seated_count--;
 		}
-
-		if (belt[position] != null) {
-			throw new BeltPlateException(position, plate, this);
+	}
+	
+	private void setPlateInSlot(Plate plate, int slot) {
+		// There is one handle per slot, so a free slot always has a free handle.
+		int handle = free_handles[--free_handle_count];
+		plate_table[handle] = plate;
+		slot_handle[slot] = handle;
+		slot_incept[slot] = getRotationCount();
+		occupied[slot >>> 6] |= (1L << slot);
+		
+		int spoil_age = spoilAge(plate.getContents());
+		if (spoil_age > 0) {
+			scheduleSpoilage(slot, getRotationCount() + spoil_age);
 		}
-		belt[position] = new TimedPlateImpl(plate, getRotationCount());
-		notifyBeltObservers(new PlatePlacedEvent(plate, position));
+		notifyPlatePlaced(plate, positionOfSlot(slot));
 	}
 
 	private void clearPlateAtPosition(int position) {
-		belt[normalizePosition(position)] = null;
+		int slot = slotIndex(position);
+		int handle = slot_handle[slot];
+		if (handle != -1) {
+			plate_table[handle] = null;
+			free_handles[free_handle_count++] = handle;
+			slot_handle[slot] = -1;
+		}
+		occupied[slot >>> 6] &= ~(1L << slot);
+		cancelSpoilage(slot);
 	}
 	
-	private boolean plateAtPositionIsSpoiled(int pos) {
-		pos = normalizePosition(pos);
-		TimedPlate plate = belt[pos];
-		
-		if (plate == null) {
-			return false;
-		}
-		
-		Sushi sushi = plate.getContents();
+	// Age at which a plate with these contents spoils, or -1 if it never does.
+	private int spoilAge(Sushi sushi) {
 		if (sushi == null) {
-			return false;
+			return -1;
 		}
 		
-		int age = getAgeOfPlateAtPosition(pos);
-		
 		if (sushi.getIsVegetarian()) {
-			return (age >= 3 * getSize());
+			return 3 * getSize();
 		}
 		
 		if (!sushi.getHasShellfish()) {
-			return (age >= 2 * getSize());
+			return 2 * getSize();
+		}
+		
+		return getSize();
+	}
+	
+	private void scheduleSpoilage(int slot, int spoil_rotation) {
+		int bucket = Math.floorMod(spoil_rotation, expiry_wheel.length);
+		int first = expiry_wheel[bucket];
+		
+		expiry_rotation[slot] = spoil_rotation;
+		expiry_scheduled[slot] = true;
+		expiry_prev[slot] = -1;
+		expiry_next[slot] = first;
+		if (first != -1) {
+			expiry_prev[first] = slot;
+		}
+		expiry_wheel[bucket] = slot;
+	}
+	
+	private void cancelSpoilage(int slot) {
+		if (!expiry_scheduled[slot]) {
+			return;
 		}
 		
-		return (age >= getSize());		
+		int prev = expiry_prev[slot];
+		int next = expiry_next[slot];
+		if (prev != -1) {
+			expiry_next[prev] = next;
+		} else {
+			expiry_wheel[Math.floorMod(expiry_rotation[slot], expiry_wheel.length)] = next;
+		}
+		if (next != -1) {
+			expiry_prev[next] = prev;
+		}
+		expiry_scheduled[slot] = false;
+	}
+	
+	// The belt is not thread safe, and asynchronous observers run alongside the thread rotating it.
+	private void checkNotDeliveryThread() {
+		if (AsyncBeltObserver.isDeliveryThread()) {
+			throw new IllegalStateException("Asynchronous belt observers must only use the event they are given");
+		}
 	}
 	
 	private int normalizePosition(int position) {
 		int normalized_position = position%getSize();
 
-		if (position < 0) {
+		if (normalized_position < 0) {
 			normalized_position += getSize();
 		}
 
 		return normalized_position;
 	}
+	
+	// Translates a belt position into the slot currently holding it.
+	private int slotIndex(int position) {
+		int slot = normalizePosition(position) + head;
+		if (slot >= getSize()) {
+			slot -= getSize();
+		}
+		return slot;
+	}
+	
+	// First free slot at or after the given one, wrapping past the last slot, or -1 if the belt is full.
+	private int nextFreeSlot(int slot) {
+		int word_index = slot >>> 6;
+		long free = ~occupied[word_index] & (-1L << slot);
+		
+		// One extra step revisits the starting word in full to cover the slots before the start.
+		for (int i=0; i<=occupied.length; i++) {
+			if (free != 0) {
+				return (word_index << 6) + Long.numberOfTrailingZeros(free);
+			}
+			word_index++;
+			if (word_index == occupied.length) {
+				word_index = 0;
+			}
+			free = ~occupied[word_index];
+		}
+		return -1;
+	}
+	
+	private boolean isOccupied(int slot) {
+		return (occupied[slot >>> 6] & (1L << slot)) != 0;
+	}
+	
+	private int positionOfSlot(int slot) {
+		int position = slot - head;
+		if (position < 0) {
+			position += getSize();
+		}
+		return position;
+	}
 }
 
 /* BELT PLATE EXCEPTION CLASS */
@@ -326,100 +926,487 @@ public class BeltPlateException extends Exception {
 	}
 }
 
-/* CHEF IMPLEMENTATION CLASS */
-import java.util.ArrayList;
-import java.util.List;
+/* CHEF STATISTICS CLASS */
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sushi;
 
-public class ChefImpl implements Chef, BeltObserver {
+// Aggregates placed, consumed and spoiled plates per chef from belt events into flat primitive
+// arrays, so readers ask for a snapshot instead of walking every chef's plate history.
+// Counts by color are indexed [chef * colors + color] and by sushi kind [chef * kinds + kind],
+// where kinds are the PlateHistoryColumn sushi type codes.
+public class ChefStatistics implements BeltObserver {
+	private static final int COLORS = Plate.Color.values().length;
+	private static final int KINDS = PlateHistoryColumn.SUSHI_TYPE_COUNT;
 
-	private double balance;
-	private List<HistoricalPlate> plate_history;
-	private String name;
-	private ChefsBelt belt;
-	private boolean already_placed_this_rotation;
-	
-	public ChefImpl(String name, double starting_balance, ChefsBelt belt) {
-		this.name = name;
-		this.balance = starting_balance;
+	private Belt belt;
+	private Chef[] chefs;
+	private Map<Chef, Integer> chef_ids;
+
+	private int[] placed_by_color;
+	private int[] consumed_by_color;
+	private int[] spoiled_by_color;
+	private int[] placed_by_kind;
+	private int[] consumed_by_kind;
+	private int[] spoiled_by_kind;
+	private double[] revenue;
+	private double[] ingredient_spend;
+	private long[] consumed_age_total;
+	private int[] consumed_age_count;
+
+	public ChefStatistics(Belt belt, Chef[] chefs) {
 		this.belt = belt;
-		belt.registerBeltObserver(this);
-		already_placed_this_rotation = false;
-		plate_history = new ArrayList<HistoricalPlate>();
-	}
+		this.chefs = chefs.clone();
+		chef_ids = new IdentityHashMap<Chef, Integer>();
+		for (int i=0; i<chefs.length; i++) {
+			chef_ids.put(chefs[i], i);
+		}
 
-	@Override
-	public String getName() {
-		return name;
+		int n = chefs.length;
+		placed_by_color = new int[n * COLORS];
+		consumed_by_color = new int[n * COLORS];
+		spoiled_by_color = new int[n * COLORS];
+		placed_by_kind = new int[n * KINDS];
+		consumed_by_kind = new int[n * KINDS];
+		spoiled_by_kind = new int[n * KINDS];
+		revenue = new double[n];
+		ingredient_spend = new double[n];
+		consumed_age_total = new long[n];
+		consumed_age_count = new int[n];
+
+		belt.registerBeltObserver(this, EnumSet.of(BeltEvent.EventType.PLATE_PLACED,
+				BeltEvent.EventType.PLATE_CONSUMED, BeltEvent.EventType.PLATE_SPOILED));
 	}
-	
-	@Override
-	public void setName(String n) {
-		this.name = n;
+
+	// Index of the chef in the snapshot arrays, or -1 if the chef is not tracked.
+	public int indexOf(Chef chef) {
+		Integer id = chef_ids.get(chef);
+		return (id == null) ? -1 : id;
 	}
 
 	@Override
-	public HistoricalPlate[] getPlateHistory(int history_length) {
-		if (history_length < 1 || (plate_history.size() == 0)) {
-			return new HistoricalPlate[0];
+	public synchronized void handleBeltEvent(BeltEvent e) {
+		Plate plate = ((PlateEvent) e).getPlate();
+		Integer id = chef_ids.get(plate.getChef());
+		if (id == null) {
+			return;
 		}
-
-		if (history_length > plate_history.size()) {
-			history_length = plate_history.size();
+		int chef = id;
+		Sushi sushi = plate.getContents();
+		int color = chef * COLORS + plate.getColor().ordinal();
+		int kind = chef * KINDS + PlateHistoryColumn.sushiTypeOf(sushi);
+
+		switch (e.getType()) {
+		case PLATE_PLACED:
+			placed_by_color[color]++;
+			placed_by_kind[kind]++;
+			if (sushi != null) {
+				ingredient_spend[chef] += sushi.getCost();
+			}
+			break;
+		case PLATE_CONSUMED:
+			consumed_by_color[color]++;
+			consumed_by_kind[kind]++;
+			revenue[chef] += plate.getPrice();
+			int age = ((PlateConsumedEvent) e).getAge();
+			if (age >= 0) {
+				consumed_age_total[chef] += age;
+				consumed_age_count[chef]++;
+			}
+			break;
+		case PLATE_SPOILED:
+			spoiled_by_color[color]++;
+			spoiled_by_kind[kind]++;
+			break;
+		default:
+			break;
 		}
-		return plate_history.subList(plate_history.size()-history_length, plate_history.size()-1).toArray(new HistoricalPlate[history_length]);
 	}
 
-	@Override
-	public HistoricalPlate[] getPlateHistory() {
-		return getPlateHistory(plate_history.size());
+	// Copies the counters as of the last delivered event. Safe to call from any thread.
+	public synchronized ChefStatisticsSnapshot snapshot() {
+		return new ChefStatisticsSnapshot(belt.getRotationCount(), chefs,
+				placed_by_color.clone(), consumed_by_color.clone(), spoiled_by_color.clone(),
+				placed_by_kind.clone(), consumed_by_kind.clone(), spoiled_by_kind.clone(),
+				revenue.clone(), ingredient_spend.clone(), consumed_age_total.clone(), consumed_age_count.clone());
 	}
 
-	@Override
-	public double getBalance() {
-		return balance;
+	public void stop() {
+		belt.unregisterBeltObserver(this);
 	}
+}
 
-	@Override
-	public void makeAndPlacePlate(Plate plate, int position) 
-			throws InsufficientBalanceException, BeltFullException, AlreadyPlacedThisRotationException {
+/* CHEF STATISTICS SNAPSHOT CLASS */
+import sushiGame.sushi.Plate;
 
-		if (already_placed_this_rotation) {
-			throw new AlreadyPlacedThisRotationException();
-		}
-		
-		if (plate.getContents().getCost() > balance) {
-			throw new InsufficientBalanceException();
-		}
-		belt.setPlateNearestToPosition(plate, position);
-		balance = balance - plate.getContents().getCost();
-		already_placed_this_rotation = true;
+// Immutable copy of ChefStatistics counters. Chef indexes match ChefStatistics.indexOf and
+// kinds are the PlateHistoryColumn sushi type codes.
+public class ChefStatisticsSnapshot {
+	private static final int COLORS = Plate.Color.values().length;
+	private static final int KINDS = PlateHistoryColumn.SUSHI_TYPE_COUNT;
+
+	private int rotation;
+	private Chef[] chefs;
+	private int[] placed_by_color;
+	private int[] consumed_by_color;
+	private int[] spoiled_by_color;
+	private int[] placed_by_kind;
+	private int[] consumed_by_kind;
+	private int[] spoiled_by_kind;
+	private double[] revenue;
+	private double[] ingredient_spend;
+	private long[] consumed_age_total;
+	private int[] consumed_age_count;
+
+	// Takes ownership of the arrays; ChefStatistics passes fresh copies.
+	ChefStatisticsSnapshot(int rotation, Chef[] chefs, int[] placed_by_color, int[] consumed_by_color,
+			int[] spoiled_by_color, int[] placed_by_kind, int[] consumed_by_kind, int[] spoiled_by_kind,
+			double[] revenue, double[] ingredient_spend, long[] consumed_age_total, int[] consumed_age_count) {
+		this.rotation = rotation;
+		this.chefs = chefs;
+		this.placed_by_color = placed_by_color;
+		this.consumed_by_color = consumed_by_color;
+		this.spoiled_by_color = spoiled_by_color;
+		this.placed_by_kind = placed_by_kind;
+		this.consumed_by_kind = consumed_by_kind;
+		this.spoiled_by_kind = spoiled_by_kind;
+		this.revenue = revenue;
+		this.ingredient_spend = ingredient_spend;
+		this.consumed_age_total = consumed_age_total;
+		this.consumed_age_count = consumed_age_count;
 	}
 
-	@Override
-	public void handleBeltEvent(BeltEvent e) {
-		if (e.getType() == BeltEvent.EventType.PLATE_CONSUMED) {
-			Plate plate = ((PlateEvent) e).getPlate();
-			if (plate.getChef() == this) {
-				balance += plate.getPrice();
-				Customer consumer = belt.getCustomerAtPosition(((PlateEvent) e).getPosition());
-				plate_history.add(new HistoricalPlateImpl(plate, consumer));
-			}
-		} else if (e.getType() == BeltEvent.EventType.PLATE_SPOILED) {
-			Plate plate = ((PlateEvent) e).getPlate();
-			plate_history.add(new HistoricalPlateImpl(plate, null));
-		} else if (e.getType() == BeltEvent.EventType.ROTATE) {
-			already_placed_this_rotation = false;
-		}
+	public int getRotation() {
+		return rotation;
 	}
-	
-	@Override
-	public boolean alreadyPlacedThisRotation() {
-		return already_placed_this_rotation;
+
+	public int getChefCount() {
+		return chefs.length;
 	}
-}
 
-/* HISTORICAL PLATE IMPLEMENTATION CLASS */
+	public Chef getChef(int chef) {
+		return chefs[chef];
+	}
+
+	public int getPlacedCount(int chef, Plate.Color color) {
+		return placed_by_color[chef * COLORS + color.ordinal()];
+	}
+
+	public int getConsumedCount(int chef, Plate.Color color) {
+		return consumed_by_color[chef * COLORS + color.ordinal()];
+	}
+
+	public int getSpoiledCount(int chef, Plate.Color color) {
+		return spoiled_by_color[chef * COLORS + color.ordinal()];
+	}
+
+	public int getPlacedCountByKind(int chef, int kind) {
+		return placed_by_kind[chef * KINDS + kind];
+	}
+
+	public int getConsumedCountByKind(int chef, int kind) {
+		return consumed_by_kind[chef * KINDS + kind];
+	}
+
+	public int getSpoiledCountByKind(int chef, int kind) {
+		return spoiled_by_kind[chef * KINDS + kind];
+	}
+
+	public int getPlacedCount(int chef) {
+		return sum(placed_by_kind, chef);
+	}
+
+	public int getConsumedCount(int chef) {
+		return sum(consumed_by_kind, chef);
+	}
+
+	public int getSpoiledCount(int chef) {
+		return sum(spoiled_by_kind, chef);
+	}
+
+	public double getRevenue(int chef) {
+		return revenue[chef];
+	}
+
+	public double getIngredientSpend(int chef) {
+		return ingredient_spend[chef];
+	}
+
+	// Mean rotations on the belt of the chef's consumed plates, or 0 if none were consumed.
+	public double getAverageAgeAtConsumption(int chef) {
+		int count = consumed_age_count[chef];
+		return (count == 0) ? 0.0 : (double) consumed_age_total[chef] / count;
+	}
+
+	private static int sum(int[] by_kind, int chef) {
+		int total = 0;
+		for (int k=0; k<KINDS; k++) {
+			total += by_kind[chef * KINDS + k];
+		}
+		return total;
+	}
+}
+
+/* CHEF ACCOUNT CLASS */
+import sushiGame.sushi.Plate;
+
+// A chef's name, balance, plate history and running totals. Every station of a chef (a
+// ChefImpl on one belt) shares its account, so a chef working several belts from several
+// threads has one balance. Updates are synchronized; the balance is volatile so reading it,
+// e.g. for a scoreboard, never waits on a placement in progress.
+public class ChefAccount {
+
+	private volatile String name;
+	private volatile double balance;
+	// Most recent plates in a fixed-size ring; history_start is the oldest of history_size entries.
+	private HistoricalPlate[] plate_history;
+	private int history_start;
+	private int history_size;
+	// Running totals indexed by Plate.Color ordinal.
+	private int[] consumed_count;
+	private int[] spoiled_count;
+	private double[] revenue;
+	private double[] profit;
+
+	public ChefAccount(String name, double starting_balance, int history_capacity) {
+		if (history_capacity < 1) {
+			throw new IllegalArgumentException("History capacity must be greater than zero.");
+		}
+
+		this.name = name;
+		this.balance = starting_balance;
+		plate_history = new HistoricalPlate[history_capacity];
+		history_start = 0;
+		history_size = 0;
+		consumed_count = new int[Plate.Color.values().length];
+		spoiled_count = new int[Plate.Color.values().length];
+		revenue = new double[Plate.Color.values().length];
+		profit = new double[Plate.Color.values().length];
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String n) {
+		this.name = n;
+	}
+
+	public double getBalance() {
+		return balance;
+	}
+
+	public synchronized HistoricalPlate[] getPlateHistory(int history_length) {
+		if (history_length < 1 || (history_size == 0)) {
+			return new HistoricalPlate[0];
+		}
+
+		if (history_length > history_size) {
+			history_length = history_size;
+		}
+		
+		// Oldest first, as the plates were added.
+		HistoricalPlate[] history = new HistoricalPlate[history_length];
+		int index = (history_start + history_size - history_length) % plate_history.length;
+		for (int i=0; i<history_length; i++) {
+			history[i] = plate_history[index];
+			index++;
+			if (index == plate_history.length) {
+				index = 0;
+			}
+		}
+		return history;
+	}
+
+	public synchronized HistoricalPlate[] getPlateHistory() {
+		return getPlateHistory(history_size);
+	}
+
+	public synchronized int getConsumedCount(Plate.Color color) {
+		return consumed_count[color.ordinal()];
+	}
+
+	public synchronized int getSpoiledCount(Plate.Color color) {
+		return spoiled_count[color.ordinal()];
+	}
+
+	public synchronized double getRevenue(Plate.Color color) {
+		return revenue[color.ordinal()];
+	}
+
+	public synchronized double getProfit(Plate.Color color) {
+		return profit[color.ordinal()];
+	}
+
+	// Places the plate and pays for its contents as one step, so two belts can never both spend
+	// the same money. Belt observers of PLATE_PLACED run while the account is locked and must
+	// not wait on another thread's chef.
+	synchronized void payAndPlace(Plate plate, int position, ChefsBelt belt) 
+			throws InsufficientBalanceException, BeltFullException {
+		if (plate.getContents().getCost() > balance) {
+			throw new InsufficientBalanceException();
+		}
+		belt.setPlateNearestToPosition(plate, position);
+		balance = balance - plate.getContents().getCost();
+	}
+
+	synchronized void recordConsumed(Plate plate, Customer consumer) {
+		balance += plate.getPrice();
+		addToHistory(new HistoricalPlateImpl(plate, consumer));
+		int color = plate.getColor().ordinal();
+		consumed_count[color]++;
+		revenue[color] += plate.getPrice();
+		profit[color] += plate.getProfit();
+	}
+
+	synchronized void recordSpoiled(Plate plate) {
+		addToHistory(new HistoricalPlateImpl(plate, null));
+		int color = plate.getColor().ordinal();
+		spoiled_count[color]++;
+		profit[color] -= plate.getContents().getCost();
+	}
+	
+	// Once the ring is full the oldest entry is overwritten.
+	private void addToHistory(HistoricalPlate plate) {
+		if (history_size < plate_history.length) {
+			plate_history[(history_start + history_size) % plate_history.length] = plate;
+			history_size++;
+		} else {
+			plate_history[history_start] = plate;
+			history_start = (history_start + 1) % plate_history.length;
+		}
+	}
+}
+
+/* CHEF IMPLEMENTATION CLASS */
+import java.util.EnumSet;
+import sushiGame.sushi.Plate;
+
+// A chef working one belt. The money, history and totals live in a ChefAccount, which a chef
+// working several belts shares between one ChefImpl per belt.
+public class ChefImpl implements Chef, BeltObserver {
+
+	public static final int DEFAULT_HISTORY_CAPACITY = 1000;
+
+	private ChefAccount account;
+	private ChefsBelt belt;
+	// written by the thread rotating the belt, read by any thread through RestaurantChef
+	private volatile boolean already_placed_this_rotation;
+	// RestaurantChef placing through this station, whose plates are this station's own
+	private Chef owner;
+	
+	public ChefImpl(String name, double starting_balance, ChefsBelt belt) {
+		this(name, starting_balance, belt, DEFAULT_HISTORY_CAPACITY);
+	}
+	
+	public ChefImpl(String name, double starting_balance, ChefsBelt belt, int history_capacity) {
+		this(new ChefAccount(name, starting_balance, history_capacity), belt);
+	}
+	
+	ChefImpl(ChefAccount account, ChefsBelt belt) {
+		this.account = account;
+		this.belt = belt;
+		belt.registerBeltObserver(this, EnumSet.of(BeltEvent.EventType.PLATE_CONSUMED, 
+				BeltEvent.EventType.PLATE_SPOILED, BeltEvent.EventType.ROTATE));
+		already_placed_this_rotation = false;
+	}
+
+	public ChefAccount getAccount() {
+		return account;
+	}
+
+	void setOwner(Chef owner) {
+		this.owner = owner;
+	}
+
+	private boolean isOwnPlate(Plate plate) {
+		return plate.getChef() == this || (owner != null && plate.getChef() == owner);
+	}
+
+	@Override
+	public String getName() {
+		return account.getName();
+	}
+	
+	@Override
+	public void setName(String n) {
+		account.setName(n);
+	}
+
+	@Override
+	public HistoricalPlate[] getPlateHistory(int history_length) {
+		return account.getPlateHistory(history_length);
+	}
+
+	@Override
+	public HistoricalPlate[] getPlateHistory() {
+		return account.getPlateHistory();
+	}
+
+	@Override
+	public double getBalance() {
+		return account.getBalance();
+	}
+
+	@Override
+	public int getConsumedCount(Plate.Color color) {
+		return account.getConsumedCount(color);
+	}
+
+	@Override
+	public int getSpoiledCount(Plate.Color color) {
+		return account.getSpoiledCount(color);
+	}
+
+	@Override
+	public double getRevenue(Plate.Color color) {
+		return account.getRevenue(color);
+	}
+
+	@Override
+	public double getProfit(Plate.Color color) {
+		return account.getProfit(color);
+	}
+
+	@Override
+	public void makeAndPlacePlate(Plate plate, int position) 
+			throws InsufficientBalanceException, BeltFullException, AlreadyPlacedThisRotationException {
+
+		if (already_placed_this_rotation) {
+			throw new AlreadyPlacedThisRotationException();
+		}
+		
+		account.payAndPlace(plate, position, belt);
+		already_placed_this_rotation = true;
+	}
+
+	@Override
+	public void handleBeltEvent(BeltEvent e) {
+		if (e.getType() == BeltEvent.EventType.PLATE_CONSUMED) {
+			Plate plate = ((PlateEvent) e).getPlate();
+			if (isOwnPlate(plate)) {
+				Customer consumer = belt.getCustomerAtPosition(((PlateEvent) e).getPosition());
+				account.recordConsumed(plate, consumer);
+			}
+		} else if (e.getType() == BeltEvent.EventType.PLATE_SPOILED) {
+			Plate plate = ((PlateEvent) e).getPlate();
+			if (isOwnPlate(plate)) {
+				account.recordSpoiled(plate);
+			}
+		} else if (e.getType() == BeltEvent.EventType.ROTATE) {
+			already_placed_this_rotation = false;
+		}
+	}
+	
+	@Override
+	public boolean alreadyPlacedThisRotation() {
+		return already_placed_this_rotation;
+	}
+}
+
+/* HISTORICAL PLATE IMPLEMENTATION CLASS */
 import sushiGame.sushi.Plate;
 import sushiGame.sushi.Sushi;
 
@@ -451,55 +1438,604 @@ public class HistoricalPlateImpl implements HistoricalPlate {
 		return plate.getProfit();
 	}
 
-	@Override
-	public Chef getChef() {
-		return plate.getChef();
+	@Override
+	public Chef getChef() {
+		return plate.getChef();
+	}
+
+	@Override
+	public boolean wasSpoiled() {
+		return (consumer == null);
+	}
+
+	@Override
+	public Customer getConsumer() {
+		return consumer;
+	}
+}
+
+/* INSUFFICIENT BALANCE EXCEPTION CLASS */
+public class InsufficientBalanceException extends Exception {
+	public InsufficientBalanceException() {
+		super("Insufficient balance");
+	}
+}
+
+/* MAPPED COLUMN CLASS */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+// One fixed-width column file of the plate history, read and written through a sliding
+// memory-mapped window. The file starts with the record count so readers never see
+// records that were only partly written.
+class MappedColumn implements Closeable {
+	static final int HEADER_BYTES = 8;
+	private static final int WINDOW_RECORDS = 1 << 16;
+
+	private FileChannel channel;
+	private FileChannel.MapMode mode;
+	private int width;
+	private MappedByteBuffer header;
+	private MappedByteBuffer window;
+	private long window_start;
+	private long count;
+
+	MappedColumn(File file, int width, boolean writable) throws IOException {
+		this.width = width;
+		if (writable) {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, 
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+			mode = FileChannel.MapMode.READ_WRITE;
+		} else {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			mode = FileChannel.MapMode.READ_ONLY;
+		}
+		header = channel.map(mode, 0, HEADER_BYTES);
+		count = header.getLong(0);
+		window = null;
+		window_start = -1;
+	}
+
+	long getCount() {
+		return count;
+	}
+
+	void appendInt(int value) throws IOException {
+		int offset = offsetOf(count);
+		window.putInt(offset, value);
+		recordAppended();
+	}
+
+	void appendByte(byte value) throws IOException {
+		int offset = offsetOf(count);
+		window.put(offset, value);
+		recordAppended();
+	}
+
+	void appendDouble(double value) throws IOException {
+		int offset = offsetOf(count);
+		window.putDouble(offset, value);
+		recordAppended();
+	}
+
+	int getInt(long record) throws IOException {
+		int offset = offsetOf(record);
+		return window.getInt(offset);
+	}
+
+	byte getByte(long record) throws IOException {
+		int offset = offsetOf(record);
+		return window.get(offset);
+	}
+
+	double getDouble(long record) throws IOException {
+		int offset = offsetOf(record);
+		return window.getDouble(offset);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (mode == FileChannel.MapMode.READ_WRITE) {
+			header.force();
+			if (window != null) {
+				window.force();
+			}
+		}
+		channel.close();
+	}
+
+	private void recordAppended() {
+		count++;
+		header.putLong(0, count);
+	}
+
+	// Moves the window so it covers the record and returns the record's offset within it.
+	private int offsetOf(long record) throws IOException {
+		if (window == null || record < window_start || record >= window_start + WINDOW_RECORDS) {
+			window_start = record - record % WINDOW_RECORDS;
+			long position = HEADER_BYTES + window_start * width;
+			long size = (long) WINDOW_RECORDS * width;
+			if (mode == FileChannel.MapMode.READ_ONLY) {
+				size = Math.min(size, channel.size() - position);
+			}
+			window = channel.map(mode, position, size);
+		}
+		return (int) (record - window_start) * width;
+	}
+}
+
+/* MODEL SNAPSHOT CLASS */
+import sushiGame.sushi.Plate;
+
+// Immutable copy of what the views draw: the plate and its age at a range of belt positions and
+// every chef's balance, player first and opponents in getOpponentChefs() order. Positions outside
+// the range read as empty.
+public class ModelSnapshot {
+	private int rotation;
+	private int size;
+	private int first;
+	private Plate[] plates;
+	private int[] ages;
+	private Chef[] chefs;
+	private double[] balances;
+
+	// Covers every position of a belt of plates.length positions.
+	public ModelSnapshot(int rotation, Plate[] plates, int[] ages, Chef[] chefs, double[] balances) {
+		this(rotation, plates.length, 0, plates, ages, chefs, balances);
+	}
+
+	// Covers positions first to first+plates.length-1 of a belt of the given size. The snapshot
+	// takes the arrays over without copying them, so callers must not change them afterwards.
+	public ModelSnapshot(int rotation, int size, int first, Plate[] plates, int[] ages, 
+			Chef[] chefs, double[] balances) {
+		if (ages.length != plates.length || first < 0 || first + plates.length > size) {
+			throw new IllegalArgumentException("Positions " + first + " to " + (first + plates.length - 1) 
+					+ " with " + ages.length + " ages do not fit a belt of size " + size);
+		}
+		if (balances.length != chefs.length) {
+			throw new IllegalArgumentException("Need one balance per chef");
+		}
+		this.rotation = rotation;
+		this.size = size;
+		this.first = first;
+		this.plates = plates;
+		this.ages = ages;
+		this.chefs = chefs;
+		this.balances = balances;
+	}
+
+	// Fills new arrays from count positions of the belt starting at first, clamped to the belt,
+	// and from the chefs, whose array is shared rather than copied. Only call from the thread
+	// driving the model.
+	static ModelSnapshot capture(Belt belt, Chef[] chefs, int first, int count) {
+		int size = belt.getSize();
+		first = Math.min(first, size);
+		count = Math.min(count, size - first);
+		Plate[] plates = new Plate[count];
+		int[] ages = new int[count];
+		for (int i=0; i<count; i++) {
+			plates[i] = belt.getPlateAtPosition(first + i);
+			ages[i] = (plates[i] == null) ? -1 : belt.getAgeOfPlateAtPosition(first + i);
+		}
+		double[] balances = new double[chefs.length];
+		for (int i=0; i<chefs.length; i++) {
+			balances[i] = chefs[i].getBalance();
+		}
+		return new ModelSnapshot(belt.getRotationCount(), size, first, plates, ages, chefs, balances);
+	}
+
+	public int getRotation() {
+		return rotation;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	// First position held by the snapshot.
+	public int getFirstPosition() {
+		return first;
+	}
+
+	// Number of positions held, starting at getFirstPosition().
+	public int getPositionCount() {
+		return plates.length;
+	}
+
+	public boolean holdsPosition(int position) {
+		return position >= first && position < first + plates.length;
+	}
+
+	public Plate getPlate(int position) {
+		return holdsPosition(position) ? plates[position - first] : null;
+	}
+
+	public int getAge(int position) {
+		return holdsPosition(position) ? ages[position - first] : -1;
+	}
+
+	public int getChefCount() {
+		return chefs.length;
+	}
+
+	public Chef getChef(int chef) {
+		return chefs[chef];
+	}
+
+	public double getBalance(int chef) {
+		return balances[chef];
+	}
+}
+
+/* PLATE CONSUMED EVENT CLASS */
+import sushiGame.sushi.Plate;
+public class PlateConsumedEvent extends PlateEvent {
+	private int age;
+	
+	public PlateConsumedEvent (Plate p, int position) {
+		this(p, position, -1);
+	}
+	
+	public PlateConsumedEvent (Plate p, int position, int age) {
+		super(BeltEvent.EventType.PLATE_CONSUMED, p, position);
+		this.age = age;
+	}
+	
+	// Rotations the plate spent on the belt before it was eaten, or -1 if unknown.
+	public int getAge() {
+		return age;
+	}
+	
+	void setAge(int age) {
+		this.age = age;
+	}
+	
+	@Override
+	public BeltEvent copy() {
+		return new PlateConsumedEvent(getPlate(), getPosition(), age);
+	}
+}
+
+/* PLATE EVENT CLASS */
+import sushiGame.sushi.Plate;
+
+abstract public class PlateEvent extends BeltEvent {
+	private Plate plate;
+	private int position;
+	public PlateEvent(BeltEvent.EventType type, Plate plate, int position) {
+		super(type);
+		this.plate = plate;
+		this.position = position;
+	}
+	
+	public  Plate getPlate() {
+		return plate;
+	}
+	
+	public int getPosition() {
+		return position;
+	}
+	
+	void reset(Plate plate, int position) {
+		this.plate = plate;
+		this.position = position;
+	}
+}
+
+/* PLATE ENTRY BUFFER CLASS */
+import java.util.Arrays;
+import sushiGame.sushi.Plate;
+
+// Growable list of (plate, position) pairs used by BeltImpl to collect a rotation's changes.
+class PlateEntryBuffer {
+	private Plate[] plates;
+	private int[] positions;
+	private int size;
+	
+	PlateEntryBuffer() {
+		plates = new Plate[16];
+		positions = new int[16];
+		size = 0;
+	}
+	
+	void add(Plate plate, int position) {
+		if (size == plates.length) {
+			plates = Arrays.copyOf(plates, size * 2);
+			positions = Arrays.copyOf(positions, size * 2);
+		}
+		plates[size] = plate;
+		positions[size] = position;
+		size++;
+	}
+	
+	int size() {
+		return size;
+	}
+	
+	Plate[] getPlates() {
+		return Arrays.copyOf(plates, size);
+	}
+	
+	int[] getPositions() {
+		return Arrays.copyOf(positions, size);
+	}
+	
+	// Backing arrays, valid up to size() until the next add or clear.
+	Plate[] plateArray() {
+		return plates;
+	}
+	
+	int[] positionArray() {
+		return positions;
+	}
+	
+	void clear() {
+		Arrays.fill(plates, 0, size, null);
+		size = 0;
+	}
+}
+
+/* PLATE HISTORY COLUMN ENUM */
+import sushiGame.sushi.Nigiri;
+import sushiGame.sushi.Roll;
+import sushiGame.sushi.Sashimi;
+import sushiGame.sushi.Sushi;
+
+// Columns of the on-disk plate history. Each is stored in its own file of fixed-width values.
+public enum PlateHistoryColumn {
+	ROTATION(4), CHEF(4), COLOR(1), SUSHI_TYPE(1), PRICE(8), COST(8), SEAT(4), SPOILED(1);
+
+	// Values stored in the SUSHI_TYPE column.
+	public static final byte NIGIRI = 0;
+	public static final byte SASHIMI = 1;
+	public static final byte ROLL = 2;
+	public static final byte OTHER = 3;
+	public static final int SUSHI_TYPE_COUNT = 4;
+
+	private int width;
+
+	PlateHistoryColumn(int width) {
+		this.width = width;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public String getFileName() {
+		return name().toLowerCase() + ".col";
+	}
+
+	// Code stored in the SUSHI_TYPE column for the sushi.
+	public static byte sushiTypeOf(Sushi sushi) {
+		if (sushi instanceof Nigiri) {
+			return NIGIRI;
+		} else if (sushi instanceof Sashimi) {
+			return SASHIMI;
+		} else if (sushi instanceof Roll) {
+			return ROLL;
+		}
+		return OTHER;
+	}
+}
+
+/* PLATE HISTORY READER CLASS */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+// Reads a plate history written by PlateHistoryWriter one column at a time, so a scan over a
+// range of one column never touches the others.
+public class PlateHistoryReader implements Closeable {
+	private MappedColumn[] columns;
+	private long record_count;
+
+	public PlateHistoryReader(File directory) throws IOException {
+		columns = new MappedColumn[PlateHistoryColumn.values().length];
+		record_count = Long.MAX_VALUE;
+		for (PlateHistoryColumn column : PlateHistoryColumn.values()) {
+			MappedColumn c = new MappedColumn(new File(directory, column.getFileName()), column.getWidth(), false);
+			columns[column.ordinal()] = c;
+			// A writer that stopped mid-record leaves some columns one longer than others.
+			record_count = Math.min(record_count, c.getCount());
+		}
+	}
+
+	public long getRecordCount() {
+		return record_count;
+	}
+
+	public int getInt(PlateHistoryColumn column, long record) throws IOException {
+		checkRange(record, 1);
+		return columns[column.ordinal()].getInt(record);
+	}
+
+	public byte getByte(PlateHistoryColumn column, long record) throws IOException {
+		checkRange(record, 1);
+		return columns[column.ordinal()].getByte(record);
+	}
+
+	public double getDouble(PlateHistoryColumn column, long record) throws IOException {
+		checkRange(record, 1);
+		return columns[column.ordinal()].getDouble(record);
+	}
+
+	// Copies records [from, from + length) of a 4-byte column into dst.
+	public void readInts(PlateHistoryColumn column, long from, int[] dst, int length) throws IOException {
+		checkRange(from, length, dst.length);
+		MappedColumn c = columns[column.ordinal()];
+		for (int i=0; i<length; i++) {
+			dst[i] = c.getInt(from + i);
+		}
+	}
+
+	// Copies records [from, from + length) of a 1-byte column into dst.
+	public void readBytes(PlateHistoryColumn column, long from, byte[] dst, int length) throws IOException {
+		checkRange(from, length, dst.length);
+		MappedColumn c = columns[column.ordinal()];
+		for (int i=0; i<length; i++) {
+			dst[i] = c.getByte(from + i);
+		}
+	}
+
+	// Copies records [from, from + length) of an 8-byte column into dst.
+	public void readDoubles(PlateHistoryColumn column, long from, double[] dst, int length) throws IOException {
+		checkRange(from, length, dst.length);
+		MappedColumn c = columns[column.ordinal()];
+		for (int i=0; i<length; i++) {
+			dst[i] = c.getDouble(from + i);
+		}
+	}
+
+	// Sum of records [from, to) of an 8-byte column.
+	public double sumDoubles(PlateHistoryColumn column, long from, long to) throws IOException {
+		checkRange(from, to - from);
+		MappedColumn c = columns[column.ordinal()];
+		double sum = 0.0;
+		for (long i=from; i<to; i++) {
+			sum += c.getDouble(i);
+		}
+		return sum;
+	}
+
+	// The mapped files may hold more than record_count entries (a partly written record, or the
+	// rest of the last window), so out of range reads would return garbage instead of failing.
+	private void checkRange(long from, long length) {
+		if (from < 0 || length < 0 || from > record_count - length) {
+			throw new IndexOutOfBoundsException("Records [" + from + ", " + (from + length) 
+					+ ") out of range for " + record_count + " records");
+		}
 	}
 
-	@Override
-	public boolean wasSpoiled() {
-		return (consumer == null);
+	private void checkRange(long from, int length, int dst_length) {
+		checkRange(from, length);
+		if (length > dst_length) {
+			throw new IndexOutOfBoundsException("Length " + length + " exceeds destination length " + dst_length);
+		}
 	}
 
 	@Override
-	public Customer getConsumer() {
-		return consumer;
-	}
-}
-
-/* INSUFFICIENT BALANCE EXCEPTION CLASS */
-public class InsufficientBalanceException extends Exception {
-	public InsufficientBalanceException() {
-		super("Insufficient balance");
+	public void close() throws IOException {
+		for (MappedColumn c : columns) {
+			c.close();
+		}
 	}
 }
 
-/* PLATE CONSUMED EVENT CLASS */
+/* PLATE HISTORY WRITER CLASS */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import sushiGame.sushi.Plate;
-public class PlateConsumedEvent extends PlateEvent {
-	public PlateConsumedEvent (Plate p, int position) {
-		super(BeltEvent.EventType.PLATE_CONSUMED, p, position);
+import sushiGame.sushi.Sushi;
+
+// Appends every consumed and spoiled plate on a belt to a set of memory-mapped column files
+// in a directory, one file per PlateHistoryColumn, so long simulations keep their history
+// off the heap. Chef ids are the chefs' indexes in the array given to the constructor.
+// The writer counts rotations from ROTATE events instead of asking the belt, so it can be
+// subscribed to a BeltEventBus and write on its own thread.
+public class PlateHistoryWriter implements BeltObserver, Closeable {
+	private static final EnumSet<BeltEvent.EventType> EVENT_TYPES = EnumSet.of(BeltEvent.EventType.ROTATE,
+			BeltEvent.EventType.PLATE_CONSUMED, BeltEvent.EventType.PLATE_SPOILED);
+
+	private Belt belt;
+	private BeltEventBus bus;
+	private int rotation;
+	private Map<Chef, Integer> chef_ids;
+	private MappedColumn[] columns;
+
+	public PlateHistoryWriter(File directory, Belt belt, Chef[] chefs) throws IOException {
+		this(directory, belt, chefs, null);
 	}
-}
 
-/* PLATE EVENT CLASS */
-import sushiGame.sushi.Plate;
+	// Writes on the bus's delivery thread, or on the thread rotating the belt if bus is null.
+	public PlateHistoryWriter(File directory, Belt belt, Chef[] chefs, BeltEventBus bus) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create history directory " + directory);
+		}
 
-abstract public class PlateEvent extends BeltEvent {
-	private Plate plate;
-	private int position;
-	public PlateEvent(BeltEvent.EventType type, Plate plate, int position) {
-		super(type);
-		this.plate = plate;
-		this.position = position;
+		this.belt = belt;
+		this.bus = bus;
+		rotation = belt.getRotationCount();
+		chef_ids = new IdentityHashMap<Chef, Integer>();
+		for (int i=0; i<chefs.length; i++) {
+			chef_ids.put(chefs[i], i);
+		}
+
+		columns = new MappedColumn[PlateHistoryColumn.values().length];
+		for (PlateHistoryColumn column : PlateHistoryColumn.values()) {
+			columns[column.ordinal()] = new MappedColumn(new File(directory, column.getFileName()), column.getWidth(), true);
+		}
+		if (bus == null) {
+			belt.registerBeltObserver(this, EVENT_TYPES);
+		} else {
+			// Every rotation has to be counted, so the writer never drops or coalesces events.
+			bus.subscribe(this, EVENT_TYPES, AsyncBeltObserver.Backpressure.BLOCK);
+		}
 	}
-	
-	public  Plate getPlate() {
-		return plate;
+
+	@Override
+	public void handleBeltEvent(BeltEvent e) {
+		if (e.getType() == BeltEvent.EventType.ROTATE) {
+			rotation++;
+			return;
+		}
+		
+		PlateEvent plate_event = (PlateEvent) e;
+		boolean spoiled = (e.getType() == BeltEvent.EventType.PLATE_SPOILED);
+		try {
+			append(plate_event.getPlate(), spoiled ? -1 : plate_event.getPosition(), spoiled);
+		} catch (IOException exc) {
+			throw new UncheckedIOException(exc);
+		}
 	}
-	
-	public int getPosition() {
-		return position;
+
+	// Stops recording and flushes the mapped columns to disk, after any queued events are written.
+	// Throws the error that stopped an asynchronous writer early, once the columns are closed.
+	@Override
+	public void close() throws IOException {
+		IOException write_failure = null;
+		if (bus == null) {
+			belt.unregisterBeltObserver(this);
+		} else {
+			try {
+				bus.unsubscribe(this);
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while writing queued plate history");
+			} catch (UncheckedIOException exc) {
+				write_failure = exc.getCause();
+			}
+		}
+		for (MappedColumn c : columns) {
+			c.close();
+		}
+		if (write_failure != null) {
+			throw write_failure;
+		}
+	}
+
+	private void append(Plate plate, int seat, boolean spoiled) throws IOException {
+		Integer chef_id = chef_ids.get(plate.getChef());
+		Sushi sushi = plate.getContents();
+
+		columns[PlateHistoryColumn.ROTATION.ordinal()].appendInt(rotation);
+		columns[PlateHistoryColumn.CHEF.ordinal()].appendInt(chef_id == null ? -1 : chef_id);
+		columns[PlateHistoryColumn.COLOR.ordinal()].appendByte((byte) plate.getColor().ordinal());
+		columns[PlateHistoryColumn.SUSHI_TYPE.ordinal()].appendByte(PlateHistoryColumn.sushiTypeOf(sushi));
+		columns[PlateHistoryColumn.PRICE.ordinal()].appendDouble(plate.getPrice());
+		columns[PlateHistoryColumn.COST.ordinal()].appendDouble(sushi == null ? 0.0 : sushi.getCost());
+		columns[PlateHistoryColumn.SEAT.ordinal()].appendInt(seat);
+		columns[PlateHistoryColumn.SPOILED.ordinal()].appendByte((byte) (spoiled ? 1 : 0));
 	}
 }
 
@@ -509,6 +2045,11 @@ public class PlatePlacedEvent extends PlateEvent {
 	public PlatePlacedEvent (Plate p, int position) {
 		super(BeltEvent.EventType.PLATE_PLACED, p, position);
 	}
+	
+	@Override
+	public BeltEvent copy() {
+		return new PlatePlacedEvent(getPlate(), getPosition());
+	}
 }
 
 /* PLATE SPOILED EVENT CLASS */
@@ -517,20 +2058,246 @@ public class PlateSpoiledEvent extends PlateEvent {
 	public PlateSpoiledEvent (Plate p, int position) {
 		super(BeltEvent.EventType.PLATE_SPOILED, p, position);
 	}
+	
+	@Override
+	public BeltEvent copy() {
+		return new PlateSpoiledEvent(getPlate(), getPosition());
+	}
 }
 
 /* RANDOM CUSTOMER CLASS */
+import java.util.SplittableRandom;
 import sushiGame.sushi.Plate;
 public class RandomCustomer implements Customer {
 	private double pickiness;
+	private SplittableRandom random;
 	
 	public RandomCustomer(double pickiness) {
+		this(pickiness, new SplittableRandom());
+	}
+	
+	public RandomCustomer(double pickiness, SplittableRandom random) {
 		this.pickiness = pickiness;
+		this.random = random;
 	}
 
 	@Override
 	public boolean consumesPlate(Plate p) {
-		return (Math.random() < pickiness);
+		return (random.nextDouble() < pickiness);
+	}
+}
+
+/* RESTAURANT CHEF CLASS */
+import sushiGame.sushi.Plate;
+
+// A chef of a RestaurantModel seen across every belt it works: name, balance, history and
+// totals come from the ChefAccount its stations share. Placing goes to the station on the
+// chef's home belt, the first belt it works, so like that station it must only be used from
+// the thread rotating the home belt. Other belts are reached through their own stations.
+class RestaurantChef implements Chef {
+
+	private ChefAccount account;
+	private ChefImpl home_station;
+
+	RestaurantChef(ChefAccount account, ChefImpl home_station) {
+		this.account = account;
+		this.home_station = home_station;
+		home_station.setOwner(this);
+	}
+
+	@Override
+	public String getName() {
+		return account.getName();
+	}
+
+	@Override
+	public void setName(String n) {
+		account.setName(n);
+	}
+
+	@Override
+	public void makeAndPlacePlate(Plate plate, int position) 
+			throws InsufficientBalanceException, BeltFullException, AlreadyPlacedThisRotationException {
+		home_station.makeAndPlacePlate(plate, position);
+	}
+
+	@Override
+	public HistoricalPlate[] getPlateHistory(int history_length) {
+		return account.getPlateHistory(history_length);
+	}
+
+	@Override
+	public HistoricalPlate[] getPlateHistory() {
+		return account.getPlateHistory();
+	}
+
+	@Override
+	public double getBalance() {
+		return account.getBalance();
+	}
+
+	@Override
+	public int getConsumedCount(Plate.Color color) {
+		return account.getConsumedCount(color);
+	}
+
+	@Override
+	public int getSpoiledCount(Plate.Color color) {
+		return account.getSpoiledCount(color);
+	}
+
+	@Override
+	public double getRevenue(Plate.Color color) {
+		return account.getRevenue(color);
+	}
+
+	@Override
+	public double getProfit(Plate.Color color) {
+		return account.getProfit(color);
+	}
+
+	// Belts rotate independently, so this is about the home belt's current rotation only.
+	@Override
+	public boolean alreadyPlacedThisRotation() {
+		return home_station.alreadyPlacedThisRotation();
+	}
+}
+
+/* RESTAURANT MODEL CLASS */
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+// A floor of independent belts, each meant to be rotated by its own thread. Every belt has its
+// own customers; each opponent chef works belts_per_chef consecutive belts (wrapping around) and
+// the player works all of them, through one station per belt that shares the chef's
+// ChefAccount. Nothing but the accounts is shared between belts.
+public class RestaurantModel {
+
+	private BeltImpl[] belts;
+	private Chef player_chef;
+	private Chef[] opponent_chefs;
+	// [belt] -> station of the player on that belt
+	private Chef[] player_stations;
+	// [opponent][belt] -> station, or null if the opponent does not work that belt
+	private Chef[][] opponent_stations;
+	private long seed;
+	private SplittableRandom random;
+
+	private final double STARTING_BALANCE = 100.0;
+
+	public RestaurantModel(int num_belts, int belt_size, int customers_per_belt, int num_chef_opponents, 
+			int belts_per_chef, long seed) {
+		if (num_belts < 1) {
+			throw new IllegalArgumentException("Restaurant must have at least one belt");
+		}
+		if (belt_size < customers_per_belt) {
+			throw new IllegalArgumentException("Belt size must be greater then number of customers");
+		}
+		if (belts_per_chef < 1 || belts_per_chef > num_belts) {
+			throw new IllegalArgumentException("Chefs must work between 1 and " + num_belts + " belts");
+		}
+
+		this.seed = seed;
+		random = new SplittableRandom(seed);
+		belts = new BeltImpl[num_belts];
+		for (int b=0; b<num_belts; b++) {
+			belts[b] = new BeltImpl(belt_size);
+			int belt_idx = 0;
+			for (int i=0; i<customers_per_belt; i++) {
+				SplittableRandom customer_random = random.split();
+				belts[b].setCustomerAtPosition(new RandomCustomer(customer_random.nextDouble(), customer_random), belt_idx);
+				belt_idx += belt_size / customers_per_belt;
+			}
+		}
+
+		opponent_chefs = new Chef[num_chef_opponents];
+		opponent_stations = new Chef[num_chef_opponents][num_belts];
+		for (int i=0; i<num_chef_opponents; i++) {
+			ChefAccount account = new ChefAccount("Opponent Chef " + i, STARTING_BALANCE, ChefImpl.DEFAULT_HISTORY_CAPACITY);
+			ChefImpl home_station = new ChefImpl(account, belts[i % num_belts]);
+			opponent_stations[i][i % num_belts] = home_station;
+			for (int k=1; k<belts_per_chef; k++) {
+				int b = (i + k) % num_belts;
+				opponent_stations[i][b] = new ChefImpl(account, belts[b]);
+			}
+			opponent_chefs[i] = new RestaurantChef(account, home_station);
+		}
+		ChefAccount player_account = new ChefAccount("Player", STARTING_BALANCE, ChefImpl.DEFAULT_HISTORY_CAPACITY);
+		ChefImpl player_home_station = new ChefImpl(player_account, belts[0]);
+		player_stations = new Chef[num_belts];
+		player_stations[0] = player_home_station;
+		for (int b=1; b<num_belts; b++) {
+			player_stations[b] = new ChefImpl(player_account, belts[b]);
+		}
+		player_chef = new RestaurantChef(player_account, player_home_station);
+	}
+
+	public int getBeltCount() {
+		return belts.length;
+	}
+
+	public Belt getBelt(int belt) {
+		return belts[belt];
+	}
+
+	// The player across all belts, placing on belt 0; other belts through getPlayerStation(belt).
+	public Chef getPlayerChef() {
+		return player_chef;
+	}
+
+	public Chef[] getOpponentChefs() {
+		return opponent_chefs.clone();
+	}
+
+	public Chef getPlayerStation(int belt) {
+		return player_stations[belt];
+	}
+
+	// Stations of the opponent indexed by belt, null for belts the opponent does not work.
+	public Chef[] getOpponentStations(int opponent) {
+		return opponent_stations[opponent].clone();
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public synchronized SplittableRandom splitRandom() {
+		return random.split();
+	}
+
+	public void setRecycleBeltEvents(boolean recycle) {
+		for (BeltImpl belt : belts) {
+			belt.setRecycleEvents(recycle);
+		}
+	}
+
+	// All chefs, player first, ranked high to low by balance across every belt they work. Each
+	// balance is read once, so the ranking is consistent even while belts keep rotating.
+	public Chef[] getScoreboard() {
+		Chef[] chefs = new Chef[opponent_chefs.length+1];
+		chefs[0] = player_chef;
+		for (int i=1; i<chefs.length; i++) {
+			chefs[i] = opponent_chefs[i-1];
+		}
+		double[] balances = new double[chefs.length];
+		Integer[] order = new Integer[chefs.length];
+		for (int i=0; i<chefs.length; i++) {
+			balances[i] = chefs[i].getBalance();
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(balances[b], balances[a]);
+			}
+		});
+		Chef[] ranked = new Chef[chefs.length];
+		for (int i=0; i<chefs.length; i++) {
+			ranked[i] = chefs[order[i]];
+		}
+		return ranked;
 	}
 }
 
@@ -539,19 +2306,224 @@ public class RotateEvent extends BeltEvent {
 	public RotateEvent() {
 		super(BeltEvent.EventType.ROTATE);
 	}
+	
+	@Override
+	public BeltEvent copy() {
+		return new RotateEvent();
+	}
+}
+
+/* ROTATION SUMMARY EVENT CLASS */
+import java.util.Arrays;
+import sushiGame.sushi.Plate;
+
+// Everything that happened on the belt since the previous summary, delivered once at the end of
+// each rotation to observers registered for ROTATION_SUMMARY. Positions are the ones reported
+// when each plate was placed, spoiled or consumed.
+public class RotationSummaryEvent extends BeltEvent {
+	private int rotation;
+	private Plate[] placed_plates;
+	private int[] placed_positions;
+	private int placed_count;
+	private Plate[] spoiled_plates;
+	private int[] spoiled_positions;
+	private int spoiled_count;
+	private Plate[] consumed_plates;
+	private int[] consumed_positions;
+	private int consumed_count;
+
+	public RotationSummaryEvent(int rotation, Plate[] placed_plates, int[] placed_positions,
+			Plate[] spoiled_plates, int[] spoiled_positions, Plate[] consumed_plates, int[] consumed_positions) {
+		super(BeltEvent.EventType.ROTATION_SUMMARY);
+		this.rotation = rotation;
+		this.placed_plates = placed_plates;
+		this.placed_positions = placed_positions;
+		this.placed_count = placed_plates.length;
+		this.spoiled_plates = spoiled_plates;
+		this.spoiled_positions = spoiled_positions;
+		this.spoiled_count = spoiled_plates.length;
+		this.consumed_plates = consumed_plates;
+		this.consumed_positions = consumed_positions;
+		this.consumed_count = consumed_plates.length;
+	}
+	
+	// Points a recycled summary at the belt's entry buffers without copying them.
+	void reset(int rotation, PlateEntryBuffer placed, PlateEntryBuffer spoiled, PlateEntryBuffer consumed) {
+		this.rotation = rotation;
+		placed_plates = placed.plateArray();
+		placed_positions = placed.positionArray();
+		placed_count = placed.size();
+		spoiled_plates = spoiled.plateArray();
+		spoiled_positions = spoiled.positionArray();
+		spoiled_count = spoiled.size();
+		consumed_plates = consumed.plateArray();
+		consumed_positions = consumed.positionArray();
+		consumed_count = consumed.size();
+	}
+	
+	@Override
+	public BeltEvent copy() {
+		return new RotationSummaryEvent(rotation,
+				Arrays.copyOf(placed_plates, placed_count), Arrays.copyOf(placed_positions, placed_count),
+				Arrays.copyOf(spoiled_plates, spoiled_count), Arrays.copyOf(spoiled_positions, spoiled_count),
+				Arrays.copyOf(consumed_plates, consumed_count), Arrays.copyOf(consumed_positions, consumed_count));
+	}
+	
+	public int getRotation() {
+		return rotation;
+	}
+	
+	public int getPlacedCount() {
+		return placed_count;
+	}
+	
+	public Plate getPlacedPlate(int i) {
+		return placed_plates[i];
+	}
+	
+	public int getPlacedPosition(int i) {
+		return placed_positions[i];
+	}
+	
+	public int getSpoiledCount() {
+		return spoiled_count;
+	}
+	
+	public Plate getSpoiledPlate(int i) {
+		return spoiled_plates[i];
+	}
+	
+	public int getSpoiledPosition(int i) {
+		return spoiled_positions[i];
+	}
+	
+	public int getConsumedCount() {
+		return consumed_count;
+	}
+	
+	public Plate getConsumedPlate(int i) {
+		return consumed_plates[i];
+	}
+	
+	public int getConsumedPosition(int i) {
+		return consumed_positions[i];
+	}
+}
+
+/* SNAPSHOT PUBLISHER CLASS */
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Hands consistent ModelSnapshots from the thread driving the model to a renderer on another
+// thread. The renderer asks for a snapshot of the positions it shows and later reads the latest
+// published one; the model thread captures one at the next rotation boundary or player placement
+// and never waits on the renderer. Rotations between requests are not captured at all.
+// Nothing is published until attach(), and only then does the belt collect rotation summaries.
+public class SnapshotPublisher implements BeltObserver {
+	private static final EnumSet<BeltEvent.EventType> EVENT_TYPES = EnumSet.of(BeltEvent.EventType.ROTATE,
+			BeltEvent.EventType.ROTATION_SUMMARY, BeltEvent.EventType.PLATE_PLACED);
+	private static final long NO_REQUEST = -1L;
+
+	private Belt belt;
+	private Chef[] chefs;
+	// first position << 32 | position count, so a request is published in one write
+	private volatile long requested;
+	private boolean attached;
+	private boolean in_rotation;
+	private AtomicReference<ModelSnapshot> latest;
+
+	public SnapshotPublisher(Belt belt, Chef[] chefs) {
+		this.belt = belt;
+		this.chefs = chefs.clone();
+		requested = NO_REQUEST;
+		latest = new AtomicReference<ModelSnapshot>(ModelSnapshot.capture(belt, this.chefs, 0, belt.getSize()));
+	}
+
+	// Starts observing the belt for the renderer. Like detach(), only call from the thread driving
+	// the model or before it starts.
+	public void attach() {
+		if (!attached) {
+			attached = true;
+			in_rotation = false;
+			belt.registerBeltObserver(this, EVENT_TYPES);
+		}
+	}
+
+	public void detach() {
+		if (attached) {
+			attached = false;
+			belt.unregisterBeltObserver(this);
+		}
+	}
+
+	public boolean isAttached() {
+		return attached;
+	}
+
+	// Asks the model thread to publish a snapshot of the whole belt at its next consistent point.
+	public void requestSnapshot() {
+		requestSnapshot(0, belt.getSize());
+	}
+
+	// Same as requestSnapshot(), but only count positions from first on are captured.
+	public void requestSnapshot(int first, int count) {
+		if (first < 0 || count < 0) {
+			throw new IllegalArgumentException("Illegal snapshot range " + first + " + " + count);
+		}
+		requested = ((long) first << 32) | count;
+	}
+
+	public ModelSnapshot getLatest() {
+		return latest.get();
+	}
+
+	@Override
+	public void handleBeltEvent(BeltEvent e) {
+		switch (e.getType()) {
+		case ROTATE:
+			in_rotation = true;
+			return;
+		case ROTATION_SUMMARY:
+			in_rotation = false;
+			break;
+		default:
+			// Placements made while a rotation is in progress wait for its summary.
+			if (in_rotation) {
+				return;
+			}
+			break;
+		}
+		long range = requested;
+		if (range != NO_REQUEST) {
+			requested = NO_REQUEST;
+			latest.set(ModelSnapshot.capture(belt, chefs, (int) (range >>> 32), (int) range));
+		}
+	}
 }
 
 /* SUSHI GAME MODEL CLASS */
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
 public class SushiGameModel {
 
 	private BeltImpl belt;
 	private Customer[] customers;
 	private Chef[] opponent_chefs;
 	private Chef player_chef;
+	private ChefStatistics chef_statistics;
+	private long seed;
+	private SplittableRandom random;
 
 	private final double STARTING_BALANCE = 100.0;
 
 	public SushiGameModel(int belt_size, int num_customers, int num_chef_opponents) {
+		this(belt_size, num_customers, num_chef_opponents, new SplittableRandom().nextLong());
+	}
+
+	// Every customer draws from its own generator split from seed, as do controllers set up
+	// through splitRandom(), so the same seed and setup order replay the same game.
+	public SushiGameModel(int belt_size, int num_customers, int num_chef_opponents, long seed) {
 		if (belt_size < 1) {
 			throw new IllegalArgumentException("Belt must have size > 0");
 		}
@@ -560,13 +2532,16 @@ public class SushiGameModel {
 			throw new IllegalArgumentException("Belt size must be greater then number of customers");
 		}
 
+		this.seed = seed;
+		random = new SplittableRandom(seed);
 		belt = new BeltImpl(belt_size);
 		customers = new Customer[num_customers];
 		opponent_chefs = new Chef[num_chef_opponents];
 
 		int belt_idx = 0;
 		for (int i=0; i<num_customers; i++) {
-			customers[i] = new RandomCustomer(Math.random());
+			SplittableRandom customer_random = random.split();
+			customers[i] = new RandomCustomer(customer_random.nextDouble(), customer_random);
 			belt.setCustomerAtPosition(customers[i], belt_idx);
 			belt_idx += belt_size / num_customers;
 		}
@@ -588,6 +2563,57 @@ public class SushiGameModel {
 	public Belt getBelt() {
 		return belt;
 	}
+	
+	public long getSeed() {
+		return seed;
+	}
+	
+	// Next generator split from the game's seed, for controllers and anything else that should
+	// replay with the game.
+	public synchronized SplittableRandom splitRandom() {
+		return random.split();
+	}
+	
+	// Starts writing consumed and spoiled plates to column files in the directory. Chef id 0 is
+	// the player and opponents follow in getOpponentChefs() order. Close the writer when done.
+	public PlateHistoryWriter openPlateHistory(File directory) throws IOException {
+		return new PlateHistoryWriter(directory, belt, getAllChefs());
+	}
+	
+	// Same as openPlateHistory(directory), but the history is written on the bus's delivery thread.
+	public PlateHistoryWriter openPlateHistory(File directory, BeltEventBus bus) throws IOException {
+		return new PlateHistoryWriter(directory, belt, getAllChefs(), bus);
+	}
+	
+	// Per-chef counters kept up to date from belt events, started on first use. Chef indexes
+	// follow openPlateHistory: the player is 0 and opponents follow.
+	public ChefStatistics getChefStatistics() {
+		if (chef_statistics == null) {
+			chef_statistics = new ChefStatistics(belt, getAllChefs());
+		}
+		return chef_statistics;
+	}
+	
+	// Publisher of snapshots for views that render at their own rate, detached until the view attaches
+	// it. Chef order as in openPlateHistory.
+	public SnapshotPublisher createSnapshotPublisher() {
+		return new SnapshotPublisher(belt, getAllChefs());
+	}
+	
+	private Chef[] getAllChefs() {
+		Chef[] chefs = new Chef[opponent_chefs.length+1];
+		chefs[0] = player_chef;
+		for (int i=1; i<chefs.length; i++) {
+			chefs[i] = opponent_chefs[i-1];
+		}
+		return chefs;
+	}
+	
+	// Turns on allocation-free event delivery. Only safe when no observer keeps events
+	// past handleBeltEvent; AsyncBeltObserver copies them itself.
+	public void setRecycleBeltEvents(boolean recycle) {
+		belt.setRecycleEvents(recycle);
+	}
 }
 
 /* TIMED PLATE IMPLEMENTATION CLASS */
@@ -0,0 +1,1400 @@
+/* package in test folder for Sushi-Game containing tests of model component
+* Classes: BeltImplTest.java, AsyncBeltObserverTest.java, BeltEventBusTest.java, ChefImplTest.java,
+* PlateHistoryTest.java, ChefStatisticsTest.java, SnapshotPublisherTest.java,
+* RestaurantModelTest.java
+*/
+
+package test.sushiGame.model;
+
+/* BELT IMPLEMENTATION TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import sushiGame.sushi.AvocadoPortion;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.IngredientPortion;
+import sushiGame.sushi.Nigiri;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.PlatePriceException;
+import sushiGame.sushi.RicePortion;
+import sushiGame.sushi.Roll;
+import sushiGame.sushi.Sashimi;
+import sushiGame.sushi.Sushi;
+
+public class BeltImplTest {
+
+	private static Plate createPlate(Chef chef) throws PlatePriceException {
+		return new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA));
+	}
+
+	@Test
+	public void rotationMovesPlatesForwardAndWraps() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, 3);
+
+		belt.rotate();
+		assertSame(plate, belt.getPlateAtPosition(4));
+		assertNull(belt.getPlateAtPosition(3));
+		belt.rotate();
+		assertSame(plate, belt.getPlateAtPosition(0));
+		assertEquals(0, belt.findPlate(plate));
+		assertEquals(2, belt.getRotationCount());
+	}
+
+	@Test
+	public void positionsOutsideBeltAreNormalized() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, -1);
+
+		assertEquals(4, belt.findPlate(plate));
+		assertSame(plate, belt.getPlateAtPosition(9));
+		assertSame(plate, belt.getPlateAtPosition(-6));
+		belt.rotate();
+		assertSame(plate, belt.getPlateAtPosition(-5));
+	}
+
+	@Test
+	public void ageCountsRotationsSincePlacement() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.rotate();
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, 0);
+
+		assertEquals(0, belt.getAgeOfPlateAtPosition(0));
+		belt.rotate();
+		belt.rotate();
+		assertEquals(2, belt.getAgeOfPlateAtPosition(2));
+		assertEquals(-1, belt.getAgeOfPlateAtPosition(0));
+	}
+
+	@Test
+	public void removedPlateIsNoLongerFound() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, 2);
+		belt.rotate();
+
+		assertSame(plate, belt.removePlateAtPosition(3));
+		assertEquals(-1, belt.findPlate(plate));
+		assertEquals(-1, belt.findPlate(null));
+		assertNull(belt.removePlateAtPosition(3));
+	}
+
+	// Rotates until the plate placed at position 0 is gone and returns how many rotations that took.
+	private static int rotationsUntilSpoiled(BeltImpl belt, Sushi sushi) throws Exception {
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		Plate plate = new BluePlate(chef, sushi);
+		belt.setPlateNearestToPosition(plate, 0);
+		int rotations = 0;
+		while (belt.findPlate(plate) != -1) {
+			belt.rotate();
+			rotations++;
+		}
+		return rotations;
+	}
+
+	@Test
+	public void spoilageDependsOnContents() throws Exception {
+		Sushi vegetarian = new Roll("Avocado Roll", new IngredientPortion[] {
+				new AvocadoPortion(0.5), new RicePortion(0.5)});
+
+		assertEquals(5, rotationsUntilSpoiled(new BeltImpl(5), new Nigiri(Nigiri.NigiriType.CRAB)));
+		assertEquals(10, rotationsUntilSpoiled(new BeltImpl(5), new Sashimi(Sashimi.SashimiType.TUNA)));
+		assertEquals(15, rotationsUntilSpoiled(new BeltImpl(5), vegetarian));
+	}
+
+	@Test
+	public void spoilageSurvivesRotationCountOverflow() throws Exception {
+		for (int offset=0; offset<20; offset++) {
+			BeltImpl belt = new BeltImpl(5, Integer.MAX_VALUE - offset);
+			assertEquals(10, rotationsUntilSpoiled(belt, new Sashimi(Sashimi.SashimiType.TUNA)));
+		}
+	}
+
+	@Test
+	public void ageSurvivesRotationCountOverflow() throws Exception {
+		BeltImpl belt = new BeltImpl(5, Integer.MAX_VALUE - 1);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.setPlateNearestToPosition(createPlate(chef), 0);
+		belt.rotate();
+		belt.rotate();
+		belt.rotate();
+
+		assertEquals(Integer.MIN_VALUE + 1, belt.getRotationCount());
+		assertEquals(3, belt.getAgeOfPlateAtPosition(3));
+	}
+
+	@Test
+	public void plateReplacedDuringSpoilageIsNotSpoiled() throws Exception {
+		final BeltImpl belt = new BeltImpl(5);
+		final Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.setPlateNearestToPosition(createPlate(chef), 1);
+		belt.setPlateNearestToPosition(createPlate(chef), 2);
+		final Plate[] fresh_plate = new Plate[1];
+		final List<Integer> spoiled_positions = new ArrayList<Integer>();
+
+		// On the first spoilage, swap the other spoiling plate for a fresh one in the same slot.
+		belt.registerBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				spoiled_positions.add(((PlateEvent) e).getPosition());
+				if (fresh_plate[0] == null) {
+					try {
+						int position = ((PlateEvent) e).getPosition() + 1;
+						belt.removePlateAtPosition(position);
+						fresh_plate[0] = createPlate(chef);
+						assertEquals(position, belt.setPlateNearestToPosition(fresh_plate[0], position));
+					} catch (Exception ex) {
+						throw new RuntimeException(ex);
+					}
+				}
+			}
+		}, EnumSet.of(BeltEvent.EventType.PLATE_SPOILED));
+
+		for (int i=0; i<10; i++) {
+			belt.rotate();
+		}
+		assertEquals(1, spoiled_positions.size());
+		assertEquals(2, belt.findPlate(fresh_plate[0]));
+		assertEquals(0, belt.getAgeOfPlateAtPosition(2));
+	}
+
+	private static final Customer HUNGRY_CUSTOMER = new Customer() {
+		@Override
+		public boolean consumesPlate(Plate p) {
+			return true;
+		}
+	};
+
+	@Test
+	public void onlySeatedCustomersConsume() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.setCustomerAtPosition(HUNGRY_CUSTOMER, 3);
+		Plate passing_plate = createPlate(chef);
+		Plate skipped_plate = createPlate(chef);
+		belt.setPlateNearestToPosition(passing_plate, 2);
+		belt.setPlateNearestToPosition(skipped_plate, 3);
+
+		belt.rotate();
+		assertEquals(-1, belt.findPlate(passing_plate));
+		assertEquals(4, belt.findPlate(skipped_plate));
+		assertSame(HUNGRY_CUSTOMER, belt.getCustomerAtPosition(8));
+		assertNull(belt.getCustomerAtPosition(2));
+	}
+
+	@Test
+	public void unseatedCustomerNoLongerConsumes() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.setCustomerAtPosition(HUNGRY_CUSTOMER, 1);
+		belt.setCustomerAtPosition(HUNGRY_CUSTOMER, 1);
+		belt.setCustomerAtPosition(HUNGRY_CUSTOMER, 3);
+		belt.setCustomerAtPosition(null, 1);
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, 0);
+
+		belt.rotate();
+		assertEquals(1, belt.findPlate(plate));
+		belt.rotate();
+		belt.rotate();
+		assertEquals(-1, belt.findPlate(plate));
+	}
+
+	@Test
+	public void consumedEventCarriesPositionAndAge() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.setCustomerAtPosition(HUNGRY_CUSTOMER, 4);
+		final List<PlateConsumedEvent> consumed = new ArrayList<PlateConsumedEvent>();
+		belt.registerBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				consumed.add((PlateConsumedEvent) e);
+			}
+		}, EnumSet.of(BeltEvent.EventType.PLATE_CONSUMED));
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, 1);
+
+		belt.rotate();
+		belt.rotate();
+		belt.rotate();
+		assertEquals(1, consumed.size());
+		assertSame(plate, consumed.get(0).getPlate());
+		assertEquals(4, consumed.get(0).getPosition());
+		assertEquals(3, consumed.get(0).getAge());
+	}
+
+	@Test
+	public void placementTakesNearestFreePositionAndWraps() throws Exception {
+		// 70 slots spans two bitset words with unused padding bits in the second.
+		BeltImpl belt = new BeltImpl(70);
+		Chef chef = new ChefImpl("Test Chef", 1000.0, belt);
+		belt.rotate();
+		for (int i=0; i<70; i++) {
+			if (i != 3 && i != 65) {
+				assertEquals(i, belt.setPlateNearestToPosition(createPlate(chef), i));
+			}
+		}
+
+		assertEquals(65, belt.setPlateNearestToPosition(createPlate(chef), 64));
+		assertEquals(3, belt.setPlateNearestToPosition(createPlate(chef), 66));
+	}
+
+	@Test(expected = BeltFullException.class)
+	public void placementOnFullBeltThrows() throws Exception {
+		BeltImpl belt = new BeltImpl(3);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		for (int i=0; i<3; i++) {
+			belt.setPlateNearestToPosition(createPlate(chef), 0);
+		}
+		belt.setPlateNearestToPosition(createPlate(chef), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void placementOfNullPlateThrows() throws Exception {
+		new BeltImpl(3).setPlateNearestToPosition(null, 0);
+	}
+
+	// Keeps a copy of every delivered event, since recycled events must not be kept.
+	private static class EventRecorder implements BeltObserver {
+		private List<BeltEvent> events = new ArrayList<BeltEvent>();
+
+		@Override
+		public void handleBeltEvent(BeltEvent e) {
+			events.add(e.copy());
+		}
+
+		int count(BeltEvent.EventType type) {
+			int count = 0;
+			for (BeltEvent e : events) {
+				if (e.getType() == type) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+
+	@Test
+	public void defaultRegistrationReceivesIndividualEventsOnly() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		EventRecorder recorder = new EventRecorder();
+		belt.registerBeltObserver(recorder);
+
+		belt.setPlateNearestToPosition(createPlate(chef), 0);
+		belt.rotate();
+		assertEquals(1, recorder.count(BeltEvent.EventType.PLATE_PLACED));
+		assertEquals(1, recorder.count(BeltEvent.EventType.ROTATE));
+		assertEquals(0, recorder.count(BeltEvent.EventType.ROTATION_SUMMARY));
+	}
+
+	@Test
+	public void filteredRegistrationReceivesRequestedTypesOnly() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		EventRecorder recorder = new EventRecorder();
+		belt.registerBeltObserver(recorder, EnumSet.of(BeltEvent.EventType.ROTATE));
+
+		belt.setPlateNearestToPosition(createPlate(chef), 0);
+		belt.rotate();
+		belt.rotate();
+		assertEquals(2, recorder.events.size());
+		assertEquals(2, recorder.count(BeltEvent.EventType.ROTATE));
+	}
+
+	@Test
+	public void unregisterRemovesObserverFromEveryType() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		EventRecorder recorder = new EventRecorder();
+		belt.registerBeltObserver(recorder, EnumSet.allOf(BeltEvent.EventType.class));
+
+		belt.unregisterBeltObserver(recorder);
+		belt.setPlateNearestToPosition(createPlate(chef), 0);
+		belt.rotate();
+		assertEquals(0, recorder.events.size());
+	}
+
+	// Places, spoils and consumes plates for a while and checks every summary against the
+	// individual events delivered since the previous one.
+	private static void checkSummariesMatchIndividualEvents(boolean recycle) throws Exception {
+		BeltImpl belt = new BeltImpl(10);
+		belt.setRecycleEvents(recycle);
+		Chef chef = new ChefImpl("Test Chef", 1000.0, belt);
+		belt.setCustomerAtPosition(new RandomCustomer(0.5, new SplittableRandom(7)), 4);
+		EventRecorder recorder = new EventRecorder();
+		belt.registerBeltObserver(recorder, EnumSet.allOf(BeltEvent.EventType.class));
+		SplittableRandom random = new SplittableRandom(7);
+
+		int summaries = 0;
+		int total_spoiled = 0;
+		int total_consumed = 0;
+		for (int i=0; i<100; i++) {
+			try {
+				belt.setPlateNearestToPosition(createPlate(chef), random.nextInt(10));
+			} catch (BeltFullException e) {
+				// Full belts just skip the placement.
+			}
+			belt.rotate();
+
+			List<PlateEvent> placed = new ArrayList<PlateEvent>();
+			List<PlateEvent> spoiled = new ArrayList<PlateEvent>();
+			List<PlateEvent> consumed = new ArrayList<PlateEvent>();
+			RotationSummaryEvent summary = null;
+			for (BeltEvent e : recorder.events) {
+				switch (e.getType()) {
+				case PLATE_PLACED:
+					placed.add((PlateEvent) e);
+					break;
+				case PLATE_SPOILED:
+					spoiled.add((PlateEvent) e);
+					break;
+				case PLATE_CONSUMED:
+					consumed.add((PlateEvent) e);
+					break;
+				case ROTATION_SUMMARY:
+					summary = (RotationSummaryEvent) e;
+					break;
+				default:
+					break;
+				}
+			}
+			recorder.events.clear();
+
+			assertEquals(belt.getRotationCount(), summary.getRotation());
+			assertEquals(placed.size(), summary.getPlacedCount());
+			for (int j=0; j<placed.size(); j++) {
+				assertSame(placed.get(j).getPlate(), summary.getPlacedPlate(j));
+				assertEquals(placed.get(j).getPosition(), summary.getPlacedPosition(j));
+			}
+			assertEquals(spoiled.size(), summary.getSpoiledCount());
+			for (int j=0; j<spoiled.size(); j++) {
+				assertSame(spoiled.get(j).getPlate(), summary.getSpoiledPlate(j));
+				assertEquals(spoiled.get(j).getPosition(), summary.getSpoiledPosition(j));
+			}
+			assertEquals(consumed.size(), summary.getConsumedCount());
+			for (int j=0; j<consumed.size(); j++) {
+				assertSame(consumed.get(j).getPlate(), summary.getConsumedPlate(j));
+				assertEquals(consumed.get(j).getPosition(), summary.getConsumedPosition(j));
+			}
+			total_spoiled += spoiled.size();
+			total_consumed += consumed.size();
+			summaries++;
+		}
+		assertEquals(100, summaries);
+		assertTrue(total_spoiled > 0);
+		assertTrue(total_consumed > 0);
+	}
+
+	@Test
+	public void summaryMatchesIndividualEvents() throws Exception {
+		checkSummariesMatchIndividualEvents(false);
+	}
+
+	@Test
+	public void recycledSummaryMatchesIndividualEvents() throws Exception {
+		checkSummariesMatchIndividualEvents(true);
+	}
+
+	@Test
+	public void slotsAndHandlesAreReusedAfterRemoval() throws Exception {
+		BeltImpl belt = new BeltImpl(4);
+		Chef chef = new ChefImpl("Test Chef", 1000.0, belt);
+		Plate[] plates = new Plate[4];
+		for (int round=0; round<3; round++) {
+			for (int i=0; i<4; i++) {
+				plates[i] = createPlate(chef);
+				assertEquals(i, belt.setPlateNearestToPosition(plates[i], i));
+			}
+			for (int i=0; i<4; i++) {
+				assertSame(plates[i], belt.getPlateAtPosition(i));
+				assertEquals(i, belt.findPlate(plates[i]));
+			}
+			// Remove in a different order than placed so handles come back shuffled.
+			assertSame(plates[2], belt.removePlateAtPosition(2));
+			assertSame(plates[0], belt.removePlateAtPosition(0));
+			assertSame(plates[3], belt.removePlateAtPosition(3));
+			assertSame(plates[1], belt.removePlateAtPosition(1));
+			for (int i=0; i<4; i++) {
+				assertEquals(-1, belt.findPlate(plates[i]));
+				assertEquals(-1, belt.getAgeOfPlateAtPosition(i));
+			}
+		}
+	}
+
+	@Test
+	public void recycledModeReusesOneEventPerType() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		belt.setRecycleEvents(true);
+		final List<BeltEvent> delivered = new ArrayList<BeltEvent>();
+		belt.registerBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				delivered.add(e);
+			}
+		}, EnumSet.of(BeltEvent.EventType.ROTATE));
+
+		belt.rotate();
+		belt.rotate();
+		assertSame(delivered.get(0), delivered.get(1));
+		assertTrue(delivered.get(0).isRecycled());
+		assertTrue(!delivered.get(0).copy().isRecycled());
+	}
+
+	@Test
+	public void nestedPlateEventDuringRecycledDeliveryIsNotOverwritten() throws Exception {
+		final BeltImpl belt = new BeltImpl(5);
+		belt.setRecycleEvents(true);
+		final Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		final Plate first_plate = createPlate(chef);
+		final Plate second_plate = createPlate(chef);
+		final List<PlateEvent> delivered = new ArrayList<PlateEvent>();
+		final List<Plate> plates_after_nested = new ArrayList<Plate>();
+		belt.registerBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				PlateEvent plate_event = (PlateEvent) e;
+				delivered.add(plate_event);
+				if (plate_event.getPlate() == first_plate) {
+					try {
+						belt.setPlateNearestToPosition(second_plate, 3);
+					} catch (BeltFullException exc) {
+						throw new RuntimeException(exc);
+					}
+					plates_after_nested.add(plate_event.getPlate());
+				}
+			}
+		}, EnumSet.of(BeltEvent.EventType.PLATE_PLACED));
+
+		belt.setPlateNearestToPosition(first_plate, 1);
+		assertEquals(2, delivered.size());
+		assertSame(first_plate, plates_after_nested.get(0));
+		assertTrue(delivered.get(0).isRecycled());
+		assertTrue(!delivered.get(1).isRecycled());
+		assertSame(second_plate, delivered.get(1).getPlate());
+		// The recycled event is cleared once delivery returns so it holds no plate.
+		assertNull(delivered.get(0).getPlate());
+	}
+
+	@Test
+	public void recycledConsumedEventCarriesAge() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		belt.setRecycleEvents(true);
+		Chef chef = new ChefImpl("Test Chef", 100.0, belt);
+		belt.setCustomerAtPosition(HUNGRY_CUSTOMER, 2);
+		final List<BeltEvent> copies = new ArrayList<BeltEvent>();
+		belt.registerBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				copies.add(e.copy());
+			}
+		}, EnumSet.of(BeltEvent.EventType.PLATE_CONSUMED));
+		Plate plate = createPlate(chef);
+		belt.setPlateNearestToPosition(plate, 0);
+
+		belt.rotate();
+		belt.rotate();
+		PlateConsumedEvent consumed = (PlateConsumedEvent) copies.get(0);
+		assertSame(plate, consumed.getPlate());
+		assertEquals(2, consumed.getPosition());
+		assertEquals(2, consumed.getAge());
+	}
+}
+
+/* ASYNC BELT OBSERVER TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sashimi;
+
+public class AsyncBeltObserverTest {
+
+	// Records event types and holds the delivery thread in the first event until released.
+	private static class GatedObserver implements BeltObserver {
+		private List<BeltEvent.EventType> types = Collections.synchronizedList(new ArrayList<BeltEvent.EventType>());
+		private CountDownLatch entered = new CountDownLatch(1);
+		private CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public void handleBeltEvent(BeltEvent e) {
+			types.add(e.getType());
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException exc) {
+				throw new RuntimeException(exc);
+			}
+		}
+	}
+
+	// Sends the first event and waits until the delivery thread is stuck in it, so the buffer is empty.
+	private static void holdDelivery(AsyncBeltObserver async_observer, GatedObserver gated) throws Exception {
+		async_observer.handleBeltEvent(new RotateEvent());
+		assertTrue(gated.entered.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void deliversEventsInBeltOrder() throws Exception {
+		BeltImpl belt = new BeltImpl(10);
+		belt.setRecycleEvents(true);
+		Chef chef = new ChefImpl("Test Chef", 1000.0, belt);
+		belt.setCustomerAtPosition(new RandomCustomer(0.5, new SplittableRandom(3)), 5);
+		final List<String> direct = new ArrayList<String>();
+		final List<String> delivered = Collections.synchronizedList(new ArrayList<String>());
+		belt.registerBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				direct.add(describe(e));
+			}
+		});
+		AsyncBeltObserver async_observer = new AsyncBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				delivered.add(describe(e));
+			}
+		}, 4, AsyncBeltObserver.Backpressure.BLOCK);
+		belt.registerBeltObserver(async_observer);
+
+		for (int i=0; i<200; i++) {
+			try {
+				belt.setPlateNearestToPosition(new BluePlate(chef, new Sashimi(Sashimi.SashimiType.TUNA)), i);
+			} catch (BeltFullException e) {
+				// Skip placements while the belt is full.
+			}
+			belt.rotate();
+		}
+		async_observer.shutdown();
+		assertEquals(direct, delivered);
+		assertEquals(0, async_observer.getDroppedCount());
+	}
+
+	private static String describe(BeltEvent e) {
+		if (e instanceof PlateEvent) {
+			PlateEvent plate_event = (PlateEvent) e;
+			return e.getType() + " " + plate_event.getPosition() + " " + System.identityHashCode(plate_event.getPlate());
+		}
+		return e.getType().toString();
+	}
+
+	@Test
+	public void dropDiscardsEventsWhileFull() throws Exception {
+		GatedObserver gated = new GatedObserver();
+		AsyncBeltObserver async_observer = new AsyncBeltObserver(gated, 2, AsyncBeltObserver.Backpressure.DROP);
+		holdDelivery(async_observer, gated);
+
+		for (int i=0; i<5; i++) {
+			async_observer.handleBeltEvent(new PlateSpoiledEvent(null, i));
+		}
+		gated.release.countDown();
+		async_observer.shutdown();
+		assertEquals(3, async_observer.getDroppedCount());
+		assertEquals(3, gated.types.size());
+	}
+
+	@Test
+	public void coalesceMergesConsecutiveRotations() throws Exception {
+		GatedObserver gated = new GatedObserver();
+		AsyncBeltObserver async_observer = new AsyncBeltObserver(gated, 2, AsyncBeltObserver.Backpressure.COALESCE);
+		holdDelivery(async_observer, gated);
+
+		async_observer.handleBeltEvent(new PlatePlacedEvent(null, 0));
+		for (int i=0; i<4; i++) {
+			async_observer.handleBeltEvent(new RotateEvent());
+		}
+		gated.release.countDown();
+		async_observer.shutdown();
+		assertEquals(3, async_observer.getDroppedCount());
+		assertEquals(Arrays.asList(BeltEvent.EventType.ROTATE, BeltEvent.EventType.PLATE_PLACED, 
+				BeltEvent.EventType.ROTATE), gated.types);
+	}
+
+	@Test
+	public void coalesceBlocksForPlateEvents() throws Exception {
+		GatedObserver gated = new GatedObserver();
+		final AsyncBeltObserver async_observer = new AsyncBeltObserver(gated, 1, AsyncBeltObserver.Backpressure.COALESCE);
+		holdDelivery(async_observer, gated);
+
+		async_observer.handleBeltEvent(new RotateEvent());
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				async_observer.handleBeltEvent(new PlateConsumedEvent(null, 0));
+			}
+		});
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+
+		gated.release.countDown();
+		producer.join(5000);
+		async_observer.shutdown();
+		assertEquals(0, async_observer.getDroppedCount());
+		assertEquals(Arrays.asList(BeltEvent.EventType.ROTATE, BeltEvent.EventType.ROTATE, 
+				BeltEvent.EventType.PLATE_CONSUMED), gated.types);
+	}
+
+	@Test
+	public void beltRejectsCallsFromDeliveryThread() throws Exception {
+		final BeltImpl belt = new BeltImpl(5);
+		final List<Exception> failures = Collections.synchronizedList(new ArrayList<Exception>());
+		AsyncBeltObserver async_observer = new AsyncBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				try {
+					belt.getPlateAtPosition(0);
+				} catch (IllegalStateException exc) {
+					failures.add(exc);
+				}
+			}
+		}, 4, AsyncBeltObserver.Backpressure.BLOCK);
+		belt.registerBeltObserver(async_observer, EnumSet.of(BeltEvent.EventType.ROTATE));
+
+		belt.rotate();
+		async_observer.shutdown();
+		assertEquals(1, failures.size());
+	}
+
+	// The delegate fails while the belt waits for room. The belt must be let go and never wait
+	// on the dead observer again, and shutdown reports the failure.
+	@Test(timeout = 10000)
+	public void failingDelegateDoesNotBlockBelt() throws Exception {
+		final RuntimeException failure = new RuntimeException("observer failed");
+		final CountDownLatch release = new CountDownLatch(1);
+		AsyncBeltObserver async_observer = new AsyncBeltObserver(new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				try {
+					release.await();
+				} catch (InterruptedException exc) {
+					Thread.currentThread().interrupt();
+				}
+				throw failure;
+			}
+		}, 2, AsyncBeltObserver.Backpressure.BLOCK);
+		BeltImpl belt = new BeltImpl(5);
+		belt.registerBeltObserver(async_observer, EnumSet.of(BeltEvent.EventType.ROTATE));
+
+		// One event held by the delegate, two queued; the next rotation blocks for room.
+		for (int i=0; i<3; i++) {
+			belt.rotate();
+		}
+		Thread release_later = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException exc) {
+					// release now
+				}
+				release.countDown();
+			}
+		});
+		release_later.start();
+		for (int i=0; i<1000; i++) {
+			belt.rotate();
+		}
+		release_later.join();
+		assertTrue(async_observer.isFailed());
+
+		try {
+			async_observer.shutdown();
+			fail("shutdown should rethrow the delegate's failure");
+		} catch (RuntimeException exc) {
+			assertSame(failure, exc);
+		}
+	}
+}
+
+/* BELT EVENT BUS TEST CLASS */
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sushiGame.controller.HeadlessGameController;
+
+public class BeltEventBusTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void historyWrittenOnBusMatchesSynchronousHistory() throws Exception {
+		File direct_dir = folder.newFolder("direct");
+		File bus_dir = folder.newFolder("bus");
+
+		SushiGameModel direct_model = new SushiGameModel(20, 5, 4, 11L);
+		HeadlessGameController direct_controller = new HeadlessGameController(direct_model);
+		PlateHistoryWriter direct_history = direct_model.openPlateHistory(direct_dir);
+		direct_controller.rotate(2000);
+		direct_history.close();
+
+		SushiGameModel bus_model = new SushiGameModel(20, 5, 4, 11L);
+		bus_model.setRecycleBeltEvents(true);
+		HeadlessGameController bus_controller = new HeadlessGameController(bus_model);
+		BeltEventBus bus = new BeltEventBus(bus_model.getBelt(), 8);
+		PlateHistoryWriter bus_history = bus_model.openPlateHistory(bus_dir, bus);
+		bus_controller.rotate(2000);
+		bus_history.close();
+		bus.shutdown();
+
+		for (PlateHistoryColumn column : PlateHistoryColumn.values()) {
+			assertArrayEquals(column.toString(),
+					Files.readAllBytes(new File(direct_dir, column.getFileName()).toPath()),
+					Files.readAllBytes(new File(bus_dir, column.getFileName()).toPath()));
+		}
+	}
+
+	@Test
+	public void unsubscribeDeliversQueuedEventsFirst() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		BeltEventBus bus = new BeltEventBus(belt, 1024);
+		final AtomicInteger rotations = new AtomicInteger();
+		BeltObserver counter = new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+				rotations.incrementAndGet();
+			}
+		};
+		bus.subscribe(counter, EnumSet.of(BeltEvent.EventType.ROTATE), AsyncBeltObserver.Backpressure.BLOCK);
+
+		for (int i=0; i<500; i++) {
+			belt.rotate();
+		}
+		bus.unsubscribe(counter);
+		belt.rotate();
+		assertEquals(500, rotations.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void subscribingTwiceThrows() throws Exception {
+		BeltEventBus bus = new BeltEventBus(new BeltImpl(5), 4);
+		BeltObserver o = new BeltObserver() {
+			@Override
+			public void handleBeltEvent(BeltEvent e) {
+			}
+		};
+		try {
+			bus.subscribe(o, EnumSet.of(BeltEvent.EventType.ROTATE), AsyncBeltObserver.Backpressure.DROP);
+			bus.subscribe(o, EnumSet.of(BeltEvent.EventType.ROTATE), AsyncBeltObserver.Backpressure.DROP);
+		} finally {
+			bus.shutdown();
+		}
+	}
+}
+
+/* CHEF IMPLEMENTATION TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.GreenPlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.PlatePriceException;
+import sushiGame.sushi.Sashimi;
+
+public class ChefImplTest {
+
+	private static Plate createPlate(Chef chef, int i) throws PlatePriceException {
+		Sashimi sashimi = Sashimi.getInstance(Sashimi.SashimiType.TUNA);
+		return (i % 2 == 0) ? new BluePlate(chef, sashimi) : new GreenPlate(chef, sashimi);
+	}
+
+	@Test
+	public void historyKeepsMostRecentPlatesOldestFirst() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		ChefImpl chef = new ChefImpl("Test Chef", 100.0, belt, 3);
+		Plate[] plates = new Plate[5];
+		for (int i=0; i<5; i++) {
+			plates[i] = createPlate(chef, i);
+			chef.handleBeltEvent(new PlateSpoiledEvent(plates[i], 0));
+		}
+
+		HistoricalPlate[] history = chef.getPlateHistory();
+		assertEquals(3, history.length);
+		for (int i=0; i<3; i++) {
+			assertEquals(plates[i+2].getColor(), history[i].getColor());
+			assertTrue(history[i].wasSpoiled());
+		}
+		assertEquals(2, chef.getPlateHistory(2).length);
+		assertEquals(plates[4].getColor(), chef.getPlateHistory(2)[1].getColor());
+		assertEquals(3, chef.getPlateHistory(10).length);
+		assertEquals(0, chef.getPlateHistory(0).length);
+	}
+
+	@Test
+	public void runningTotalsCountEveryPlateBeyondHistory() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		RandomCustomer customer = new RandomCustomer(1.0);
+		belt.setCustomerAtPosition(customer, 2);
+		ChefImpl chef = new ChefImpl("Test Chef", 100.0, belt, 4);
+		ChefImpl other_chef = new ChefImpl("Other Chef", 100.0, belt, 4);
+
+		int consumed_blue = 0;
+		int spoiled_green = 0;
+		double revenue_blue = 0.0;
+		double profit_green = 0.0;
+		for (int i=0; i<50; i++) {
+			Plate plate = createPlate(chef, i);
+			if (i % 2 == 0) {
+				chef.handleBeltEvent(new PlateConsumedEvent(plate, 2));
+				consumed_blue++;
+				revenue_blue += plate.getPrice();
+			} else {
+				chef.handleBeltEvent(new PlateSpoiledEvent(plate, 0));
+				spoiled_green++;
+				profit_green -= plate.getContents().getCost();
+			}
+			// Plates of another chef leave this chef's totals alone.
+			chef.handleBeltEvent(new PlateConsumedEvent(createPlate(other_chef, i), 2));
+		}
+
+		assertEquals(consumed_blue, chef.getConsumedCount(Plate.Color.BLUE));
+		assertEquals(0, chef.getSpoiledCount(Plate.Color.BLUE));
+		assertEquals(spoiled_green, chef.getSpoiledCount(Plate.Color.GREEN));
+		assertEquals(revenue_blue, chef.getRevenue(Plate.Color.BLUE), 1e-9);
+		assertEquals(profit_green, chef.getProfit(Plate.Color.GREEN), 1e-9);
+		assertEquals(100.0 + revenue_blue, chef.getBalance(), 1e-9);
+		HistoricalPlate[] history = chef.getPlateHistory();
+		assertNull(history[history.length-1].getConsumer());
+		assertSame(customer, history[history.length-2].getConsumer());
+	}
+
+	@Test
+	public void placingPaysForContentsOncePerRotation() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		ChefImpl chef = new ChefImpl("Test Chef", 100.0, belt);
+		Plate plate = createPlate(chef, 0);
+
+		chef.makeAndPlacePlate(plate, 1);
+		assertEquals(100.0 - plate.getContents().getCost(), chef.getBalance(), 1e-9);
+		assertTrue(chef.alreadyPlacedThisRotation());
+		try {
+			chef.makeAndPlacePlate(createPlate(chef, 0), 2);
+			assertTrue(false);
+		} catch (AlreadyPlacedThisRotationException e) {
+			// Expected.
+		}
+		belt.rotate();
+		assertTrue(!chef.alreadyPlacedThisRotation());
+	}
+
+	@Test(expected = InsufficientBalanceException.class)
+	public void placingWithoutMoneyThrows() throws Exception {
+		BeltImpl belt = new BeltImpl(5);
+		ChefImpl chef = new ChefImpl("Test Chef", 0.01, belt);
+		chef.makeAndPlacePlate(createPlate(chef, 0), 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroHistoryCapacityThrows() {
+		new ChefImpl("Test Chef", 100.0, new BeltImpl(5), 0);
+	}
+}
+
+/* PLATE HISTORY TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sushiGame.controller.HeadlessGameController;
+import sushiGame.sushi.Plate;
+
+public class PlateHistoryTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private SushiGameModel game_model;
+	private File directory;
+
+	@Before
+	public void writeHistory() throws Exception {
+		directory = folder.newFolder("history");
+		game_model = new SushiGameModel(20, 5, 4, 5L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+		PlateHistoryWriter writer = game_model.openPlateHistory(directory);
+		controller.rotate(3000);
+		writer.close();
+	}
+
+	@Test
+	public void readerSeesEveryConsumedAndSpoiledPlate() throws Exception {
+		int consumed = 0;
+		int spoiled = 0;
+		double revenue = 0.0;
+		for (Chef c : game_model.getOpponentChefs()) {
+			for (Plate.Color color : Plate.Color.values()) {
+				consumed += c.getConsumedCount(color);
+				spoiled += c.getSpoiledCount(color);
+				revenue += c.getRevenue(color);
+			}
+		}
+
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			int n = (int) reader.getRecordCount();
+			assertEquals(consumed + spoiled, n);
+
+			byte[] spoiled_flags = new byte[n];
+			int[] seats = new int[n];
+			int[] rotations = new int[n];
+			double[] prices = new double[n];
+			reader.readBytes(PlateHistoryColumn.SPOILED, 0, spoiled_flags, n);
+			reader.readInts(PlateHistoryColumn.SEAT, 0, seats, n);
+			reader.readInts(PlateHistoryColumn.ROTATION, 0, rotations, n);
+			reader.readDoubles(PlateHistoryColumn.PRICE, 0, prices, n);
+
+			int spoiled_records = 0;
+			double consumed_price = 0.0;
+			for (int i=0; i<n; i++) {
+				if (spoiled_flags[i] == 1) {
+					spoiled_records++;
+					assertEquals(-1, seats[i]);
+				} else {
+					consumed_price += prices[i];
+					assertTrue(seats[i] >= 0);
+				}
+				assertTrue(i == 0 || rotations[i] >= rotations[i-1]);
+				assertEquals(rotations[i], reader.getInt(PlateHistoryColumn.ROTATION, i));
+			}
+			assertEquals(spoiled, spoiled_records);
+			assertEquals(revenue, consumed_price, 1e-6);
+			assertEquals(3000, rotations[n-1], 20);
+			double all_prices = 0.0;
+			for (double price : prices) {
+				all_prices += price;
+			}
+			assertEquals(all_prices, reader.sumDoubles(PlateHistoryColumn.PRICE, 0, n), 0.0);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void emptyRangesAtTheEndAreAllowed() throws Exception {
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			long n = reader.getRecordCount();
+			reader.readInts(PlateHistoryColumn.SEAT, n, new int[0], 0);
+			assertEquals(0.0, reader.sumDoubles(PlateHistoryColumn.PRICE, n, n), 0.0);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getPastLastRecordThrows() throws Exception {
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			reader.getDouble(PlateHistoryColumn.PRICE, reader.getRecordCount());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void readIntsPastLastRecordThrows() throws Exception {
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			reader.readInts(PlateHistoryColumn.SEAT, reader.getRecordCount() - 1, new int[2], 2);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void readBytesFromNegativeRecordThrows() throws Exception {
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			reader.readBytes(PlateHistoryColumn.SPOILED, -1, new byte[1], 1);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void readDoublesPastDestinationThrows() throws Exception {
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			reader.readDoubles(PlateHistoryColumn.PRICE, 0, new double[1], 2);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void sumDoublesPastLastRecordThrows() throws Exception {
+		PlateHistoryReader reader = new PlateHistoryReader(directory);
+		try {
+			reader.sumDoubles(PlateHistoryColumn.PRICE, 0, reader.getRecordCount() + 1);
+		} finally {
+			reader.close();
+		}
+	}
+}
+
+/* CHEF STATISTICS TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import sushiGame.controller.HeadlessGameController;
+import sushiGame.sushi.Plate;
+
+public class ChefStatisticsTest {
+
+	@Test
+	public void countersMatchChefTotals() {
+		SushiGameModel game_model = new SushiGameModel(20, 5, 4, 9L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+		ChefStatistics statistics = game_model.getChefStatistics();
+		controller.rotate(2000);
+
+		ChefStatisticsSnapshot snapshot = statistics.snapshot();
+		assertEquals(2000, snapshot.getRotation());
+		assertEquals(5, snapshot.getChefCount());
+		assertSame(game_model.getPlayerChef(), snapshot.getChef(0));
+		for (int i=0; i<game_model.getOpponentChefs().length; i++) {
+			Chef c = game_model.getOpponentChefs()[i];
+			int chef = statistics.indexOf(c);
+			assertEquals(i+1, chef);
+			int consumed = 0;
+			int spoiled = 0;
+			double revenue = 0.0;
+			for (Plate.Color color : Plate.Color.values()) {
+				assertEquals(c.getConsumedCount(color), snapshot.getConsumedCount(chef, color));
+				assertEquals(c.getSpoiledCount(color), snapshot.getSpoiledCount(chef, color));
+				consumed += c.getConsumedCount(color);
+				spoiled += c.getSpoiledCount(color);
+				revenue += c.getRevenue(color);
+			}
+			assertEquals(consumed, snapshot.getConsumedCount(chef));
+			assertEquals(spoiled, snapshot.getSpoiledCount(chef));
+			assertEquals(revenue, snapshot.getRevenue(chef), 1e-6);
+			assertEquals(100.0 + revenue - snapshot.getIngredientSpend(chef), c.getBalance(), 1e-6);
+
+			int placed_by_kind = 0;
+			for (int kind=0; kind<PlateHistoryColumn.SUSHI_TYPE_COUNT; kind++) {
+				placed_by_kind += snapshot.getPlacedCountByKind(chef, kind);
+			}
+			assertEquals(snapshot.getPlacedCount(chef), placed_by_kind);
+			assertTrue(snapshot.getPlacedCount(chef) >= consumed + spoiled);
+			if (consumed > 0) {
+				assertTrue(snapshot.getAverageAgeAtConsumption(chef) > 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void snapshotDoesNotChangeAfterwards() {
+		SushiGameModel game_model = new SushiGameModel(20, 5, 4, 9L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+		ChefStatistics statistics = game_model.getChefStatistics();
+		controller.rotate(100);
+
+		ChefStatisticsSnapshot snapshot = statistics.snapshot();
+		int placed = snapshot.getPlacedCount(1);
+		controller.rotate(100);
+		assertEquals(placed, snapshot.getPlacedCount(1));
+		assertTrue(statistics.snapshot().getPlacedCount(1) > placed);
+	}
+
+	@Test
+	public void stopEndsCounting() {
+		SushiGameModel game_model = new SushiGameModel(20, 5, 4, 9L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+		ChefStatistics statistics = game_model.getChefStatistics();
+		controller.rotate(100);
+
+		statistics.stop();
+		int placed = statistics.snapshot().getPlacedCount(1);
+		controller.rotate(100);
+		assertEquals(placed, statistics.snapshot().getPlacedCount(1));
+	}
+
+	@Test
+	public void untrackedChefHasNoIndex() {
+		BeltImpl belt = new BeltImpl(5);
+		Chef tracked = new ChefImpl("Tracked", 100.0, belt);
+		ChefStatistics statistics = new ChefStatistics(belt, new Chef[] {tracked});
+
+		assertEquals(0, statistics.indexOf(tracked));
+		assertEquals(-1, statistics.indexOf(new ChefImpl("Untracked", 100.0, belt)));
+	}
+}
+
+/* SNAPSHOT PUBLISHER TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sashimi;
+
+public class SnapshotPublisherTest {
+
+	private static Plate createPlate(Chef chef) throws Exception {
+		return new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.TUNA));
+	}
+
+	@Test
+	public void snapshotHoldsOnlyItsRange() {
+		Plate[] plates = new Plate[3];
+		int[] ages = {-1, -1, -1};
+		ModelSnapshot snapshot = new ModelSnapshot(4, 10, 5, plates, ages, new Chef[0], new double[0]);
+
+		assertEquals(10, snapshot.getSize());
+		assertEquals(5, snapshot.getFirstPosition());
+		assertEquals(3, snapshot.getPositionCount());
+		assertTrue(!snapshot.holdsPosition(4) && snapshot.holdsPosition(5));
+		assertTrue(snapshot.holdsPosition(7) && !snapshot.holdsPosition(8));
+		assertNull(snapshot.getPlate(0));
+		assertEquals(-1, snapshot.getAge(9));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void snapshotRejectsRangePastBelt() {
+		new ModelSnapshot(0, 10, 8, new Plate[3], new int[3], new Chef[0], new double[0]);
+	}
+
+	@Test
+	public void captureReadsRequestedRangeClampedToBelt() throws Exception {
+		BeltImpl belt = new BeltImpl(10);
+		Chef chef = new ChefImpl("Chef", 100.0, belt);
+		Plate plate = createPlate(chef);
+		chef.makeAndPlacePlate(plate, 8);
+		belt.rotate();
+
+		ModelSnapshot snapshot = ModelSnapshot.capture(belt, new Chef[] {chef}, 7, 20);
+		assertEquals(7, snapshot.getFirstPosition());
+		assertEquals(3, snapshot.getPositionCount());
+		assertSame(plate, snapshot.getPlate(9));
+		assertEquals(1, snapshot.getAge(9));
+		assertNull(snapshot.getPlate(7));
+		assertEquals(chef.getBalance(), snapshot.getBalance(0), 0.0);
+	}
+
+	@Test
+	public void publishesOnlyWhileAttached() {
+		BeltImpl belt = new BeltImpl(10);
+		SnapshotPublisher publisher = new SnapshotPublisher(belt, new Chef[0]);
+		ModelSnapshot initial = publisher.getLatest();
+
+		publisher.requestSnapshot();
+		belt.rotate();
+		assertSame(initial, publisher.getLatest());
+
+		publisher.attach();
+		assertTrue(publisher.isAttached());
+		belt.rotate();
+		assertEquals(2, publisher.getLatest().getRotation());
+		assertEquals(10, publisher.getLatest().getPositionCount());
+
+		publisher.detach();
+		publisher.requestSnapshot();
+		belt.rotate();
+		assertEquals(2, publisher.getLatest().getRotation());
+	}
+
+	@Test
+	public void publishesRequestedRangeOncePerRequest() throws Exception {
+		BeltImpl belt = new BeltImpl(100);
+		Chef chef = new ChefImpl("Chef", 100.0, belt);
+		SnapshotPublisher publisher = new SnapshotPublisher(belt, new Chef[] {chef});
+		publisher.attach();
+
+		publisher.requestSnapshot(40, 10);
+		belt.rotate();
+		ModelSnapshot snapshot = publisher.getLatest();
+		assertEquals(1, snapshot.getRotation());
+		assertEquals(40, snapshot.getFirstPosition());
+		assertEquals(10, snapshot.getPositionCount());
+		assertEquals(100, snapshot.getSize());
+
+		belt.rotate();
+		assertSame(snapshot, publisher.getLatest());
+
+		// A placement outside a rotation is a consistent point too.
+		Plate plate = createPlate(chef);
+		publisher.requestSnapshot(0, 5);
+		chef.makeAndPlacePlate(plate, 3);
+		assertSame(plate, publisher.getLatest().getPlate(3));
+		assertEquals(2, publisher.getLatest().getRotation());
+	}
+}
+
+/* RESTAURANT MODEL TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.IdentityHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sashimi;
+
+public class RestaurantModelTest {
+
+	private static final int BELTS = 4;
+	private static final double STARTING_BALANCE = 10000.0;
+	// Larger than the placements a belt can take before the money runs out, and plates spoil
+	// only after twice as many rotations, so every plate placed is still on its belt at the end.
+	private static final int BELT_SIZE = 10000;
+
+	@Test
+	public void chefsSeeStationsSharedAccount() throws Exception {
+		RestaurantModel restaurant = new RestaurantModel(2, 20, 0, 1, 1, 1L);
+		Chef player = restaurant.getPlayerChef();
+		Chef station = restaurant.getPlayerStation(1);
+		station.makeAndPlacePlate(new BluePlate(station, Sashimi.getInstance(Sashimi.SashimiType.TUNA)), 0);
+
+		assertEquals(station.getBalance(), player.getBalance(), 0.0);
+		assertTrue(player.getBalance() < 100.0);
+		// Placing on belt 1 says nothing about the player's home belt 0.
+		assertTrue(!player.alreadyPlacedThisRotation());
+
+		player.setName("Renamed");
+		assertEquals("Renamed", station.getName());
+		assertSame(player, restaurant.getScoreboard()[1]);
+		assertNull(restaurant.getOpponentStations(0)[1]);
+	}
+
+	@Test
+	public void restaurantChefPlacesOnHomeBelt() throws Exception {
+		RestaurantModel restaurant = new RestaurantModel(3, 20, 0, 2, 2, 1L);
+		Chef opponent = restaurant.getOpponentChefs()[1];
+		Plate plate = new BluePlate(opponent, Sashimi.getInstance(Sashimi.SashimiType.TUNA));
+		opponent.makeAndPlacePlate(plate, 5);
+
+		// Opponent 1 works belts 1 and 2 and is at home on the first.
+		assertSame(plate, restaurant.getBelt(1).getPlateAtPosition(5));
+		assertEquals(-1, restaurant.getBelt(2).findPlate(plate));
+		assertTrue(opponent.alreadyPlacedThisRotation());
+		assertTrue(!restaurant.getOpponentStations(1)[2].alreadyPlacedThisRotation());
+		restaurant.getBelt(1).rotate();
+		assertTrue(!opponent.alreadyPlacedThisRotation());
+
+		// The home station books the chef's own plates, here once it spoils.
+		while (restaurant.getBelt(1).findPlate(plate) != -1) {
+			restaurant.getBelt(1).rotate();
+		}
+		assertEquals(1, opponent.getSpoiledCount(Plate.Color.BLUE));
+		assertEquals(1, opponent.getPlateHistory().length);
+	}
+
+	// One chef's stations on every belt place from their own threads until the shared money runs
+	// out, as in a restaurant. The account must hand out each dollar once: what was spent matches
+	// the plates on the belts, the balance never goes below zero and every plate is on one belt, once.
+	@Test
+	public void concurrentPlacementsConserveBalance() throws Exception {
+		// A lost update needs two threads inside payAndPlace at once, so give it several chances.
+		for (int round=0; round<10; round++) {
+			placeOnAllBeltsUntilBroke();
+		}
+	}
+
+	private static void placeOnAllBeltsUntilBroke() throws Exception {
+		ChefAccount account = new ChefAccount("Chef", STARTING_BALANCE, 10);
+		BeltImpl[] belts = new BeltImpl[BELTS];
+		Chef[] stations = new Chef[BELTS];
+		for (int b=0; b<BELTS; b++) {
+			belts[b] = new BeltImpl(BELT_SIZE);
+			stations[b] = new ChefImpl(account, belts[b]);
+		}
+		double cost = Sashimi.getInstance(Sashimi.SashimiType.TUNA).getCost();
+		int affordable = (int) (STARTING_BALANCE / cost);
+		CyclicBarrier start = new CyclicBarrier(BELTS);
+		AtomicInteger placed = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		Thread[] threads = new Thread[BELTS];
+		for (int b=0; b<BELTS; b++) {
+			Belt belt = belts[b];
+			Chef station = stations[b];
+			threads[b] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i=0; i<affordable; i++) {
+							try {
+								station.makeAndPlacePlate(new BluePlate(station, Sashimi.getInstance(Sashimi.SashimiType.TUNA)), 0);
+								placed.incrementAndGet();
+							} catch (InsufficientBalanceException e) {
+								// another belt spent the rest
+							}
+							assertTrue(station.getBalance() >= 0.0);
+							belt.rotate();
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					}
+				}
+			});
+			threads[b].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		if (failure.get() != null) {
+			throw new AssertionError(failure.get());
+		}
+
+		assertEquals(affordable, placed.get());
+		assertEquals(STARTING_BALANCE - affordable * cost, account.getBalance(), 1e-6);
+
+		IdentityHashMap<Plate, Boolean> on_belts = new IdentityHashMap<Plate, Boolean>();
+		for (int b=0; b<BELTS; b++) {
+			for (int position=0; position<BELT_SIZE; position++) {
+				Plate plate = belts[b].getPlateAtPosition(position);
+				if (plate != null) {
+					assertSame(stations[b], plate.getChef());
+					assertNull(on_belts.put(plate, Boolean.TRUE));
+				}
+			}
+		}
+		assertEquals(affordable, on_belts.size());
+	}
+}
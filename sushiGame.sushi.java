@@ -3,6 +3,7 @@
 * GoldPlate.java, GreenPlate.java, IngredientImpl.java, IngredientPortionImpl.java, Nigiri.java, PlateImpl.java,
 * PlatePriceException.java, RedPlate.java, Rice.java, RicePortion.java, Roll.java, Salmon.java, SalmonPortion.java, 
 * Sashimi.java, Seaweed.java, SeaweedPortion.java, Shrimp.java, ShrimpPortion.java, Tuna.java, TunaPortion.java, 
+* IngredientCatalog.java
 * Interfaces: Ingredient_Interface.java, Ingredient_Portion_Interface.java, Plate_Interface.java, Sushi_Interface.java
 */
 
@@ -10,6 +11,8 @@ package src.sushiGame.sushi;
 
 /* INGREDIENT INTERFACE */
 public interface Ingredient_Interface {
+	// Index of the ingredient in IngredientCatalog.
+	int getId();
 	String getName();
 	double getCaloriesPerDollar();
 	int getCaloriesPerOunce();
@@ -23,6 +26,7 @@ public interface Ingredient_Interface {
 /* INGREDIENT PORTION INTERFACE */
 public interface IngredientPortion_Interface {
 	Ingredient getIngredient();
+	int getIngredientId();
 	String getName();
 	double getAmount();
 	double getCalories();
@@ -50,6 +54,9 @@ public interface Sushi_Interface {
 
 	String getName();
 	IngredientPortion[] getIngredients();
+	// Read-only access to the ingredients without copying the array.
+	int getIngredientCount();
+	IngredientPortion getIngredient(int index);
 	int getCalories();
 	double getCost();
 	boolean getHasRice();
@@ -60,28 +67,14 @@ public interface Sushi_Interface {
 /* AVOCADO CLASS */
 public class Avocado extends IngredientImpl {
 	public Avocado() {
-		super("avocado", 0.22, 45, true, false, false);
+		super(IngredientCatalog.AVOCADO);
 	}
 }
 
 /* AVOCADO PORTION CLASS */
 public class AvocadoPortion extends IngredientPortionImpl {
-
-	private static final Ingredient AVOCADO = new Avocado();
-	
 	public AvocadoPortion(double amount) {
-		super(amount, AVOCADO);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(AVOCADO)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new AvocadoPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.AVOCADO);
 	}
 }
 
@@ -98,56 +91,28 @@ public class BluePlate extends PlateImpl {
 /* CRAB CLASS */
 public class Crab extends IngredientImpl {
 	public Crab() {
-		super("crab", 0.75, 36, false, false, true);
+		super(IngredientCatalog.CRAB);
 	}
 }
 
 /* CRAB PORTION CLASS */
 public class CrabPortion extends IngredientPortionImpl {
-
-	private static final Ingredient CRAB = new Crab();
-	
 	public CrabPortion(double amount) {
-		super(amount, CRAB);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(CRAB)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new CrabPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.CRAB);
 	}
 }
 
 /* EEL CLASS */
 public class Eel extends IngredientImpl {
 	public Eel() {
-		super("eel", 2.18, 84, false, false, false);
+		super(IngredientCatalog.EEL);
 	}
 }
 
 /* EEL PORTION CLASS */
 public class EelPortion extends IngredientPortionImpl {
-
-	private static final Ingredient EEL = new Eel();
-	
 	public EelPortion(double amount) {
-		super(amount, EEL);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(EEL)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new EelPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.EEL);
 	}
 }
 
@@ -176,44 +141,166 @@ public class GreenPlate extends PlateImpl {
 	}
 }
 
+/* INGREDIENT CATALOG CLASS */
+// Every ingredient by a small integer id, with its properties held in primitive tables so
+// cost and calorie math can run as plain array loops and ingredients compare by id.
+public class IngredientCatalog {
+	public static final int AVOCADO = 0;
+	public static final int CRAB = 1;
+	public static final int EEL = 2;
+	public static final int RICE = 3;
+	public static final int SALMON = 4;
+	public static final int SEAWEED = 5;
+	public static final int SHRIMP = 6;
+	public static final int TUNA = 7;
+	public static final int SIZE = 8;
+
+	private static final byte VEGETARIAN = 1;
+	private static final byte IS_RICE = 2;
+	private static final byte SHELLFISH = 4;
+
+	private static final String[] NAMES = {
+			"avocado", "crab", "eel", "rice", "salmon", "seaweed", "shrimp", "tuna"};
+	private static final double[] PRICE_PER_OUNCE = {
+			0.22, 0.75, 2.18, 0.12, 0.72, 2.95, 0.55, 1.77};
+	private static final int[] CALORIES_PER_OUNCE = {
+			45, 36, 84, 37, 56, 113, 39, 48};
+	private static final byte[] FLAGS = {
+			VEGETARIAN, SHELLFISH, 0, VEGETARIAN | IS_RICE, 0, VEGETARIAN, SHELLFISH, 0};
+
+	private static final Ingredient[] INGREDIENTS = {
+			new Avocado(), new Crab(), new Eel(), new Rice(), 
+			new Salmon(), new Seaweed(), new Shrimp(), new Tuna()};
+
+	public static Ingredient getIngredient(int id) {
+		return INGREDIENTS[id];
+	}
+
+	public static String getName(int id) {
+		return NAMES[id];
+	}
+
+	public static double getPricePerOunce(int id) {
+		return PRICE_PER_OUNCE[id];
+	}
+
+	public static int getCaloriesPerOunce(int id) {
+		return CALORIES_PER_OUNCE[id];
+	}
+
+	public static boolean getIsVegetarian(int id) {
+		return (FLAGS[id] & VEGETARIAN) != 0;
+	}
+
+	public static boolean getIsRice(int id) {
+		return (FLAGS[id] & IS_RICE) != 0;
+	}
+
+	public static boolean getIsShellfish(int id) {
+		return (FLAGS[id] & SHELLFISH) != 0;
+	}
+
+	public static IngredientPortion createPortion(int id, double amount) {
+		switch (id) {
+		case AVOCADO:
+			return new AvocadoPortion(amount);
+		case CRAB:
+			return new CrabPortion(amount);
+		case EEL:
+			return new EelPortion(amount);
+		case RICE:
+			return new RicePortion(amount);
+		case SALMON:
+			return new SalmonPortion(amount);
+		case SEAWEED:
+			return new SeaweedPortion(amount);
+		case SHRIMP:
+			return new ShrimpPortion(amount);
+		case TUNA:
+			return new TunaPortion(amount);
+		default:
+			throw new IllegalArgumentException("Unknown ingredient id " + id);
+		}
+	}
+
+	// Totals over a list of portions given as parallel arrays of ingredient ids and ounces.
+	// Portions are summed in list order, the same order as adding up each portion's getCost()
+	// or getCalories(), so the totals come out bit for bit the same.
+	public static double getCost(int[] ids, double[] amounts) {
+		double cost_sum = 0.0;
+		for (int i=0; i<ids.length; i++) {
+			cost_sum += amounts[i] * PRICE_PER_OUNCE[ids[i]];
+		}
+		return cost_sum;
+	}
+
+	public static double getCalories(int[] ids, double[] amounts) {
+		double calorie_sum = 0.0;
+		for (int i=0; i<ids.length; i++) {
+			calorie_sum += amounts[i] * CALORIES_PER_OUNCE[ids[i]];
+		}
+		return calorie_sum;
+	}
+
+	public static boolean getHasRice(int[] ids) {
+		return hasAny(ids, IS_RICE);
+	}
+
+	public static boolean getHasShellfish(int[] ids) {
+		return hasAny(ids, SHELLFISH);
+	}
+
+	public static boolean getIsVegetarian(int[] ids) {
+		for (int i=0; i<ids.length; i++) {
+			if ((FLAGS[ids[i]] & VEGETARIAN) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasAny(int[] ids, byte flag) {
+		for (int i=0; i<ids.length; i++) {
+			if ((FLAGS[ids[i]] & flag) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
+
 /* INGREDIENT IMPLEMENTATION CLASS */
 abstract public class IngredientImpl implements Ingredient {
 
-	private String name;
-	private double price;
-	private int calories;
-	private boolean is_vegetarian;
-	private boolean is_rice;
-	private boolean is_shellfish;
+	private int id;
 	
-	protected IngredientImpl(String name, double price, int calories, 
-			boolean is_vegetarian, boolean is_rice, boolean is_shellfish) {
-		this.name = name;
-		this.price = price;
-		this.calories = calories;
-		this.is_vegetarian = is_vegetarian;
-		this.is_rice = is_rice;
-		this.is_shellfish = is_shellfish;		
+	protected IngredientImpl(int id) {
+		this.id = id;
+	}
+	
+	@Override
+	public int getId() {
+		return id;
 	}
 	
 	@Override
 	public String getName() {
-		return name;
+		return IngredientCatalog.getName(id);
 	}
 
 	@Override
 	public double getCaloriesPerDollar() {
-		return calories/price;
+		return IngredientCatalog.getCaloriesPerOunce(id)/IngredientCatalog.getPricePerOunce(id);
 	}
 
 	@Override
 	public int getCaloriesPerOunce() {
-		return calories;
+		return IngredientCatalog.getCaloriesPerOunce(id);
 	}
 
 	@Override
 	public double getPricePerOunce() {
-		return price;
+		return IngredientCatalog.getPricePerOunce(id);
 	}
 
 	@Override
@@ -221,55 +308,55 @@ abstract public class IngredientImpl implements Ingredient {
 		if (other == null) {
 			return false;
 		}
-		return ((other == this) ||
-				(other.getName().equals(getName()) &&
-				 (other.getCaloriesPerOunce() == getCaloriesPerOunce()) &&
-				 (Math.abs(other.getPricePerOunce()-getPricePerOunce()) < 0.01) &&
-				 (other.getIsVegetarian() == getIsVegetarian()) &&
-				 (other.getIsRice() == getIsRice()) &&
-				 (other.getIsShellfish() == getIsShellfish())));
+		return (other.getId() == id);
 	}
 
 	@Override
 	public boolean getIsVegetarian() {
-		return is_vegetarian;
+		return IngredientCatalog.getIsVegetarian(id);
 	}
 
 	@Override
 	public boolean getIsRice() {
-		return is_rice;
+		return IngredientCatalog.getIsRice(id);
 	}
 
 	@Override
 	public boolean getIsShellfish() {
-		return is_shellfish;
+		return IngredientCatalog.getIsShellfish(id);
 	}
 }
 
 
 /* INGREDIENT PORTION IMPLEMENTATION CLASS */
+// A portion is just an (ingredient id, amount) pair; everything else comes from IngredientCatalog.
 abstract public class IngredientPortionImpl implements IngredientPortion {
 
 	private double amount;
-	private Ingredient ingredient;
+	private int ingredient_id;
 
-	protected IngredientPortionImpl(double amount, Ingredient ingredient) {
+	protected IngredientPortionImpl(double amount, int ingredient_id) {
 		if (amount <= 0.0) {
 			throw new RuntimeException("Amount of ingredient portion must be greater than 0.0");
 		}
 		
 		this.amount = amount;
-		this.ingredient = ingredient;
+		this.ingredient_id = ingredient_id;
 	}
 	
 	@Override
 	public Ingredient getIngredient() {
-		return ingredient;
+		return IngredientCatalog.getIngredient(ingredient_id);
+	}
+
+	@Override
+	public int getIngredientId() {
+		return ingredient_id;
 	}
 
 	@Override
 	public String getName() {
-		return ingredient.getName();
+		return IngredientCatalog.getName(ingredient_id);
 	}
 
 	@Override
@@ -279,34 +366,44 @@ abstract public class IngredientPortionImpl implements IngredientPortion {
 
 	@Override
 	public double getCalories() {
-		return amount * ingredient.getCaloriesPerOunce();
+		return amount * IngredientCatalog.getCaloriesPerOunce(ingredient_id);
 	}
 
 	@Override
 	public double getCost() {
-		return amount * ingredient.getPricePerOunce();
+		return amount * IngredientCatalog.getPricePerOunce(ingredient_id);
 	}
 
 	@Override
 	public boolean getIsVegetarian() {
-		return ingredient.getIsVegetarian();
+		return IngredientCatalog.getIsVegetarian(ingredient_id);
 	}
 
 	@Override
 	public boolean getIsRice() {
-		return ingredient.getIsRice();
+		return IngredientCatalog.getIsRice(ingredient_id);
 	}
 
 	@Override
 	public boolean getIsShellfish() {
-		return ingredient.getIsShellfish();
+		return IngredientCatalog.getIsShellfish(ingredient_id);
 	}
 
 	@Override
-	abstract public IngredientPortion combine(IngredientPortion other);
+	public IngredientPortion combine(IngredientPortion other) {
+		if (other == null) {
+			return this;
+		}
+		if (other.getIngredientId() != ingredient_id) {
+			throw new RuntimeException("Can not combine portions of different ingredients");
+		}
+		return IngredientCatalog.createPortion(ingredient_id, other.getAmount()+this.getAmount());
+	}
 }
 
 /* NIGIRI CLASS */
+import java.util.EnumMap;
+
 public class Nigiri implements Sushi {
 
 	public enum NigiriType {TUNA, SALMON, EEL, CRAB, SHRIMP}
@@ -314,8 +411,20 @@ public class Nigiri implements Sushi {
 	private static double NIGIRI_PORTION_AMOUNT = 0.75;
 	private static double RICE_PORTION_AMOUNT = 0.5;
 	
+	// Nigiri is immutable and fully determined by its type, so one shared instance per type will do.
+	private static final EnumMap<NigiriType, Nigiri> INSTANCES = new EnumMap<NigiriType, Nigiri>(NigiriType.class);
+	static {
+		for (NigiriType type : NigiriType.values()) {
+			INSTANCES.put(type, new Nigiri(type));
+		}
+	}
+	
 	private IngredientPortion seafood;
 	private IngredientPortion rice;
+	private String name;
+	private int calories;
+	private double cost;
+	private boolean has_shellfish;
 	
 	public Nigiri(NigiriType type) {
 		rice = new RicePortion(RICE_PORTION_AMOUNT);
@@ -337,11 +446,20 @@ public class Nigiri implements Sushi {
 			seafood = new ShrimpPortion(NIGIRI_PORTION_AMOUNT);
 			break;			
 		}
+		
+		name = seafood.getName() + " nigiri";
+		calories = (int) (seafood.getCalories() + rice.getCalories() + 0.5);
+		cost = ((int) ((seafood.getCost() + rice.getCost()) * 100.0 + 0.5)) / 100.0;
+		has_shellfish = seafood.getIsShellfish();
+	}
+	
+	public static Nigiri getInstance(NigiriType type) {
+		return INSTANCES.get(type);
 	}
 	
 	@Override
 	public String getName() {
-		return seafood.getName() + " nigiri";
+		return name;
 	}
 
 	@Override
@@ -349,14 +467,31 @@ public class Nigiri implements Sushi {
 		return new IngredientPortion[] {seafood, rice};
 	}
 
+	@Override
+	public int getIngredientCount() {
+		return 2;
+	}
+
+	@Override
+	public IngredientPortion getIngredient(int index) {
+		switch (index) {
+		case 0:
+			return seafood;
+		case 1:
+			return rice;
+		default:
+			throw new IndexOutOfBoundsException("Nigiri has no ingredient " + index);
+		}
+	}
+
 	@Override
 	public int getCalories() {
-		return (int) (seafood.getCalories() + rice.getCalories() + 0.5);
+		return calories;
 	}
 
 	@Override
 	public double getCost() {
-		return ((int) ((seafood.getCost() + rice.getCost()) * 100.0 + 0.5)) / 100.0;
+		return cost;
 	}
 
 	@Override
@@ -366,7 +501,7 @@ public class Nigiri implements Sushi {
 
 	@Override
 	public boolean getHasShellfish() {
-		return seafood.getIsShellfish();
+		return has_shellfish;
 	}
 
 	@Override
@@ -454,27 +589,14 @@ public class RedPlate extends PlateImpl {
 /* RICE CLASS */
 public class Rice extends IngredientImpl {
 	public Rice() {
-		super("rice", 0.12, 37, true, true, false);
+		super(IngredientCatalog.RICE);
 	}
 }
 
 /* RICE PORTION CLASS */
 public class RicePortion extends IngredientPortionImpl {
-	private static final Ingredient RICE = new Rice();
-	
 	public RicePortion(double amount) {
-		super(amount, RICE);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(RICE)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new RicePortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.RICE);
 	}
 }
 
@@ -482,6 +604,13 @@ public class RicePortion extends IngredientPortionImpl {
 public class Roll implements Sushi {
 	private String name;
 	private IngredientPortion[] roll_ingredients;
+	
+	// A roll never changes after construction, so its aggregates are worked out once up front.
+	private int calories;
+	private double cost;
+	private boolean has_rice;
+	private boolean has_shellfish;
+	private boolean is_vegetarian;
 
 	public Roll(String name, IngredientPortion[] roll_ingredients) {
 		if (name == null) {
@@ -497,6 +626,19 @@ public class Roll implements Sushi {
 			}
 		}
 		this.roll_ingredients = roll_ingredients.clone();
+		
+		int[] ids = new int[this.roll_ingredients.length];
+		double[] amounts = new double[this.roll_ingredients.length];
+		for (int i=0; i<this.roll_ingredients.length; i++) {
+			ids[i] = this.roll_ingredients[i].getIngredientId();
+			amounts[i] = this.roll_ingredients[i].getAmount();
+		}
+		
+		calories = (int) (IngredientCatalog.getCalories(ids, amounts) + 0.5);
+		cost = ((int) (IngredientCatalog.getCost(ids, amounts) * 100.0 + 0.5))/100.0;
+		has_rice = IngredientCatalog.getHasRice(ids);
+		has_shellfish = IngredientCatalog.getHasShellfish(ids);
+		is_vegetarian = IngredientCatalog.getIsVegetarian(ids);
 	}
 	
 	@Override
@@ -509,93 +651,78 @@ public class Roll implements Sushi {
 		return roll_ingredients.clone();
 	}
 
+	@Override
+	public int getIngredientCount() {
+		return roll_ingredients.length;
+	}
+
+	@Override
+	public IngredientPortion getIngredient(int index) {
+		return roll_ingredients[index];
+	}
+
 	@Override
 	public int getCalories() {
-		double calorie_sum = 0.0;
-		for (int i=0; i<roll_ingredients.length; i++) {
-			calorie_sum += roll_ingredients[i].getCalories();
-		}
-		
-		return (int) (calorie_sum + 0.5);
+		return calories;
 	}
 
 	@Override
 	public double getCost() {
-		double cost_sum = 0.0;
-		for (int i=0; i<roll_ingredients.length; i++) {
-			cost_sum += roll_ingredients[i].getCost();
-		}
-		
-		return ((int) (cost_sum * 100.0 + 0.5))/100.0;
+		return cost;
 	}
 
 	@Override
 	public boolean getHasRice() {
-		for (int i=0; i<roll_ingredients.length; i++) {
-			if (roll_ingredients[i].getIsRice()) {
-				return true;
-			}
-		}
-		return false;
+		return has_rice;
 	}
 
 	@Override
 	public boolean getHasShellfish() {
-		for (int i=0; i<roll_ingredients.length; i++) {
-			if (roll_ingredients[i].getIsShellfish()) {
-				return true;
-			}
-		}
-		return false;
+		return has_shellfish;
 	}
 
 	@Override
 	public boolean getIsVegetarian() {
-		for (int i=0; i<roll_ingredients.length; i++) {
-			if (!roll_ingredients[i].getIsVegetarian()) {
-				return false;
-			}
-		}
-		return true;
+		return is_vegetarian;
 	}
 }
 
 /* SALMON CLASS */
 public class Salmon extends IngredientImpl {
 	public Salmon() {
-		super("salmon", 0.72, 56, false, false, false);
+		super(IngredientCatalog.SALMON);
 	}
 }
 
 /* SALMON PORTION CLASS */
 public class SalmonPortion extends IngredientPortionImpl {
-
-	private static final Ingredient SALMON = new Salmon();
-	
 	public SalmonPortion(double amount) {
-		super(amount, SALMON);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(SALMON)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new SalmonPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.SALMON);
 	}
 }
 
 /* SASHIMI CLASS */
+import java.util.EnumMap;
+
 public class Sashimi implements Sushi {
 
 	public enum SashimiType {TUNA, SALMON, EEL, CRAB, SHRIMP}
 
 	private static double SASHIMI_PORTION_AMOUNT = 0.75;
 	
+	// Sashimi is immutable and fully determined by its type, so one shared instance per type will do.
+	private static final EnumMap<SashimiType, Sashimi> INSTANCES = new EnumMap<SashimiType, Sashimi>(SashimiType.class);
+	static {
+		for (SashimiType type : SashimiType.values()) {
+			INSTANCES.put(type, new Sashimi(type));
+		}
+	}
+	
 	private IngredientPortion seafood;
+	private String name;
+	private int calories;
+	private double cost;
+	private boolean has_shellfish;
 	
 	public Sashimi(SashimiType type) {
 		switch(type) {
@@ -615,11 +742,20 @@ public class Sashimi implements Sushi {
 			seafood = new ShrimpPortion(SASHIMI_PORTION_AMOUNT);
 			break;			
 		}
+		
+		name = seafood.getName() + " sashimi";
+		calories = (int) (seafood.getCalories() + 0.5);
+		cost = ((int) (seafood.getCost() * 100.0 + 0.5)) / 100.0;
+		has_shellfish = seafood.getIsShellfish();
+	}
+	
+	public static Sashimi getInstance(SashimiType type) {
+		return INSTANCES.get(type);
 	}
 	
 	@Override
 	public String getName() {
-		return seafood.getName() + " sashimi";
+		return name;
 	}
 
 	@Override
@@ -627,14 +763,27 @@ public class Sashimi implements Sushi {
 		return new IngredientPortion[] {seafood};
 	}
 
+	@Override
+	public int getIngredientCount() {
+		return 1;
+	}
+
+	@Override
+	public IngredientPortion getIngredient(int index) {
+		if (index != 0) {
+			throw new IndexOutOfBoundsException("Sashimi has no ingredient " + index);
+		}
+		return seafood;
+	}
+
 	@Override
 	public int getCalories() {
-		return (int) (seafood.getCalories() + 0.5);
+		return calories;
 	}
 
 	@Override
 	public double getCost() {
-		return ((int) (seafood.getCost() * 100.0 + 0.5)) / 100.0;
+		return cost;
 	}
 
 	@Override
@@ -644,7 +793,7 @@ public class Sashimi implements Sushi {
 
 	@Override
 	public boolean getHasShellfish() {
-		return seafood.getIsShellfish();
+		return has_shellfish;
 	}
 
 	@Override
@@ -656,82 +805,41 @@ public class Sashimi implements Sushi {
 /* SEAWEED CLASS */
 public class Seaweed extends IngredientImpl {
 	public Seaweed() {
-		super("seaweed", 2.95, 113, true, false, false);
+		super(IngredientCatalog.SEAWEED);
 	}
 }
 
 /* SEAWEED PORTION CLASS */
 public class SeaweedPortion extends IngredientPortionImpl {
-
-	private static final Ingredient SEAWEED = new Seaweed();
-	
 	public SeaweedPortion(double amount) {
-		super(amount, SEAWEED);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(SEAWEED)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new SeaweedPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.SEAWEED);
 	}
 }
 
 /* SHRIMP CLASS */
 public class Shrimp extends IngredientImpl {
 	public Shrimp() {
-		super("shrimp", 0.55, 39, false, false, true);
+		super(IngredientCatalog.SHRIMP);
 	}
 }
 
 /* SHRIMP PORTION CLASS */
 public class ShrimpPortion extends IngredientPortionImpl {
-
-	private static final Ingredient SHRIMP = new Shrimp();
-	
 	public ShrimpPortion(double amount) {
-		super(amount, SHRIMP);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(SHRIMP)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new ShrimpPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.SHRIMP);
 	}
 }
 
 /* TUNA CLASS */
 public class Tuna extends IngredientImpl {
 	public Tuna() {
-		super("tuna", 1.77, 48, false, false, false);
+		super(IngredientCatalog.TUNA);
 	}
 }
 
 /* TUNA PORTION CLASS */
 public class TunaPortion extends IngredientPortionImpl {
-	private static final Ingredient TUNA = new Tuna();
-	
 	public TunaPortion(double amount) {
-		super(amount, TUNA);
-	}
-	
-	@Override
-	public IngredientPortion combine(IngredientPortion other) {
-		if (other == null) {
-			return this;
-		}
-		if (!other.getIngredient().equals(TUNA)) {
-			throw new RuntimeException("Can not combine portions of different ingredients");
-		}
-		return new TunaPortion(other.getAmount()+this.getAmount());
+		super(amount, IngredientCatalog.TUNA);
 	}
 }
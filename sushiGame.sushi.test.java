@@ -0,0 +1,241 @@
+/* package in test folder for Sushi-Game containing tests of components of game
+* Classes: NigiriTest.java, SashimiTest.java, RollTest.java, IngredientCatalogTest.java
+*/
+
+package test.sushiGame.sushi;
+
+/* NIGIRI TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class NigiriTest {
+
+	@Test
+	public void getInstanceSharesOneNigiriPerType() {
+		for (Nigiri.NigiriType type : Nigiri.NigiriType.values()) {
+			assertSame(Nigiri.getInstance(type), Nigiri.getInstance(type));
+		}
+		assertNotSame(Nigiri.getInstance(Nigiri.NigiriType.TUNA), Nigiri.getInstance(Nigiri.NigiriType.EEL));
+	}
+
+	@Test
+	public void precomputedValuesMatchIngredients() {
+		for (Nigiri.NigiriType type : Nigiri.NigiriType.values()) {
+			Nigiri nigiri = new Nigiri(type);
+			IngredientPortion seafood = nigiri.getIngredient(0);
+			IngredientPortion rice = nigiri.getIngredient(1);
+
+			assertEquals(seafood.getName() + " nigiri", nigiri.getName());
+			assertEquals((int) (seafood.getCalories() + rice.getCalories() + 0.5), nigiri.getCalories());
+			assertEquals(((int) ((seafood.getCost() + rice.getCost()) * 100.0 + 0.5)) / 100.0, nigiri.getCost(), 0.0);
+			assertEquals(seafood.getIsShellfish(), nigiri.getHasShellfish());
+			assertTrue(nigiri.getHasRice());
+			assertTrue(!nigiri.getIsVegetarian());
+			assertEquals(nigiri.getCost(), Nigiri.getInstance(type).getCost(), 0.0);
+		}
+	}
+
+	@Test
+	public void getIngredientsReturnsFreshArray() {
+		Nigiri nigiri = Nigiri.getInstance(Nigiri.NigiriType.SALMON);
+		IngredientPortion[] ingredients = nigiri.getIngredients();
+		ingredients[0] = null;
+
+		assertEquals(2, nigiri.getIngredientCount());
+		assertSame(nigiri.getIngredient(0), nigiri.getIngredients()[0]);
+		assertSame(nigiri.getIngredient(1), nigiri.getIngredients()[1]);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getIngredientPastEndThrows() {
+		Nigiri.getInstance(Nigiri.NigiriType.TUNA).getIngredient(2);
+	}
+}
+
+/* SASHIMI TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SashimiTest {
+
+	@Test
+	public void getInstanceSharesOneSashimiPerType() {
+		for (Sashimi.SashimiType type : Sashimi.SashimiType.values()) {
+			assertSame(Sashimi.getInstance(type), Sashimi.getInstance(type));
+		}
+	}
+
+	@Test
+	public void precomputedValuesMatchIngredient() {
+		for (Sashimi.SashimiType type : Sashimi.SashimiType.values()) {
+			Sashimi sashimi = new Sashimi(type);
+			IngredientPortion seafood = sashimi.getIngredient(0);
+
+			assertEquals(1, sashimi.getIngredientCount());
+			assertEquals((int) (seafood.getCalories() + 0.5), sashimi.getCalories());
+			assertEquals(((int) (seafood.getCost() * 100.0 + 0.5)) / 100.0, sashimi.getCost(), 0.0);
+			assertEquals(seafood.getIsShellfish(), sashimi.getHasShellfish());
+			assertTrue(!sashimi.getHasRice());
+			assertEquals(sashimi.getName(), Sashimi.getInstance(type).getName());
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getIngredientPastEndThrows() {
+		Sashimi.getInstance(Sashimi.SashimiType.TUNA).getIngredient(1);
+	}
+}
+
+/* ROLL TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class RollTest {
+
+	private static IngredientPortion[] createPortions() {
+		return new IngredientPortion[] {
+				new SeaweedPortion(0.1), new RicePortion(0.5), new CrabPortion(0.3), 
+				new AvocadoPortion(0.25), new EelPortion(0.7)};
+	}
+
+	@Test
+	public void aggregatesMatchSumsOverPortions() {
+		IngredientPortion[] portions = createPortions();
+		Roll roll = new Roll("Test Roll", portions);
+
+		double calorie_sum = 0.0;
+		double cost_sum = 0.0;
+		for (IngredientPortion portion : portions) {
+			calorie_sum += portion.getCalories();
+			cost_sum += portion.getCost();
+		}
+		assertEquals((int) (calorie_sum + 0.5), roll.getCalories());
+		assertEquals(((int) (cost_sum * 100.0 + 0.5)) / 100.0, roll.getCost(), 0.0);
+		assertTrue(roll.getHasRice());
+		assertTrue(roll.getHasShellfish());
+		assertTrue(!roll.getIsVegetarian());
+	}
+
+	@Test
+	public void flagsFollowIngredients() {
+		Roll vegetarian = new Roll("Veggie Roll", new IngredientPortion[] {
+				new AvocadoPortion(0.5), new SeaweedPortion(0.1)});
+		Roll empty = new Roll("Empty Roll", new IngredientPortion[0]);
+
+		assertTrue(vegetarian.getIsVegetarian());
+		assertTrue(!vegetarian.getHasRice());
+		assertTrue(!vegetarian.getHasShellfish());
+		assertTrue(empty.getIsVegetarian());
+		assertEquals(0, empty.getCalories());
+		assertEquals(0.0, empty.getCost(), 0.0);
+	}
+
+	@Test
+	public void indexedAccessMatchesIngredientsArray() {
+		IngredientPortion[] portions = createPortions();
+		Roll roll = new Roll("Test Roll", portions);
+		portions[0] = null;
+
+		IngredientPortion[] ingredients = roll.getIngredients();
+		assertEquals(ingredients.length, roll.getIngredientCount());
+		for (int i=0; i<ingredients.length; i++) {
+			assertSame(ingredients[i], roll.getIngredient(i));
+		}
+		ingredients[1] = null;
+		assertTrue(roll.getIngredient(1) != null);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void nullPortionThrows() {
+		new Roll("Bad Roll", new IngredientPortion[] {new RicePortion(0.5), null});
+	}
+}
+
+/* INGREDIENT CATALOG TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class IngredientCatalogTest {
+
+	@Test
+	public void ingredientsReadTheirPropertiesByID() {
+		Ingredient[] ingredients = {new Avocado(), new Crab(), new Eel(), new Rice(),
+				new Salmon(), new Seaweed(), new Shrimp(), new Tuna()};
+		for (int id=0; id<IngredientCatalog.SIZE; id++) {
+			Ingredient ingredient = ingredients[id];
+			assertEquals(id, ingredient.getId());
+			assertTrue(ingredient.equals(IngredientCatalog.getIngredient(id)));
+			assertEquals(IngredientCatalog.getName(id), ingredient.getName());
+			assertEquals(IngredientCatalog.getPricePerOunce(id), ingredient.getPricePerOunce(), 0.0);
+			assertEquals(IngredientCatalog.getCaloriesPerOunce(id), ingredient.getCaloriesPerOunce());
+			assertEquals(ingredient.getCaloriesPerOunce() / ingredient.getPricePerOunce(), 
+					ingredient.getCaloriesPerDollar(), 0.0);
+		}
+		assertEquals("tuna", new Tuna().getName());
+		assertTrue(new Rice().getIsRice() && new Rice().getIsVegetarian());
+		assertTrue(new Shrimp().getIsShellfish() && new Crab().getIsShellfish());
+		assertTrue(!new Eel().getIsVegetarian());
+	}
+
+	@Test
+	public void ingredientsEqualByIDOnly() {
+		assertTrue(new Tuna().equals(new Tuna()));
+		assertTrue(!new Tuna().equals(new Salmon()));
+		assertTrue(!new Tuna().equals(null));
+	}
+
+	@Test
+	public void combineAddsAmountsOfSameIngredient() {
+		IngredientPortion combined = new TunaPortion(0.5).combine(new TunaPortion(0.25));
+
+		assertTrue(combined instanceof TunaPortion);
+		assertEquals(IngredientCatalog.TUNA, combined.getIngredientId());
+		assertEquals(0.75, combined.getAmount(), 0.0);
+		assertEquals(0.75 * 1.77, combined.getCost(), 1e-12);
+		IngredientPortion portion = new RicePortion(0.5);
+		assertSame(portion, portion.combine(null));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void combineRejectsDifferentIngredients() {
+		new TunaPortion(0.5).combine(new SalmonPortion(0.5));
+	}
+
+	@Test
+	public void createPortionMatchesIngredientID() {
+		for (int id=0; id<IngredientCatalog.SIZE; id++) {
+			IngredientPortion portion = IngredientCatalog.createPortion(id, 0.5);
+			assertEquals(id, portion.getIngredientId());
+			assertTrue(portion.getIngredient().equals(IngredientCatalog.getIngredient(id)));
+			assertEquals(0.5, portion.getAmount(), 0.0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void createPortionRejectsUnknownID() {
+		IngredientCatalog.createPortion(IngredientCatalog.SIZE, 0.5);
+	}
+
+	// Both rolls land on a rounding boundary, where adding portions in another order than
+	// the list (e.g. grouped by ingredient) changes the rounded result.
+	@Test
+	public void rollTotalsAddPortionsInListOrder() {
+		Roll roll = new Roll("Salmon Roll", new IngredientPortion[] {
+				new SalmonPortion(0.1), new CrabPortion(0.7), new EelPortion(0.3), new SalmonPortion(0.45)});
+		assertEquals(1.58, roll.getCost(), 0.0);
+
+		roll = new Roll("Eel Roll", new IngredientPortion[] {
+				new EelPortion(0.05), new EelPortion(0.25), new SeaweedPortion(0.35), 
+				new AvocadoPortion(0.7), new AvocadoPortion(0.45)});
+		assertEquals(117, roll.getCalories());
+	}
+}
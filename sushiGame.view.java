@@ -1,7 +1,7 @@
 /* package in source folder for Sushi-Game containing classes of view component
-* Classes: BeltView.java, HighToLowBalanceComparator.java, PlateView.java, PlateChefView.java, ScoreboardWidget.java,
-* SushiGameView.java
-* Interfaces: ChefViewListener.java, RotationRequestListener.java
+* Classes: BeltView.java, HighToLowBalanceComparator.java, Leaderboard.java, PlateView.java, PlateChefView.java, ScoreboardWidget.java,
+* SushiGameView.java, VirtualBeltView.java
+* Interfaces: ChefViewListener.java, RotationRequestListener.java, AutoRotationListener.java
 */
 
 package src.sushiGame.controller;
@@ -20,6 +20,12 @@ public interface RotationRequestListener_Interface {
 	void handleRotationRequest();
 }
 
+/* AUTO ROTATION LISTENER INTERFACE */
+public interface AutoRotationListener_Interface {
+	void handleAutoRotationRequest(boolean run);
+	void handleTickRateRequest(double ticks_per_second);
+}
+
 /* BELT VIEW CLASS */
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -27,30 +33,51 @@ import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Objects;
+import java.util.BitSet;
 import javax.swing.JButton;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import sushiGame.sushi.Plate;
 import sushiGame.model.Belt;
 import sushiGame.model.BeltEvent;
 import sushiGame.model.BeltObserver;
+import sushiGame.model.ModelSnapshot;
+import sushiGame.model.PlateEvent;
 
 // provides user interface for displaying the contents of the sushi belt
 public class BeltView extends JPanel implements BeltObserver {
 
 	private Belt belt;
 	private JPanel[] plateView;
+	private JButton[] plateButtons;
+	private Plate[] shownPlates;
+	private ModelSnapshot shownSnapshot;
+
+	// positions changed since the last repaint, guarded by this
+	private BitSet dirty;
+	private boolean allDirty;
+	private boolean repaintPending;
 
 	public BeltView(Belt b) {
+		this(b, true);
+	}
+
+	// with observeBelt false the view only changes through render(ModelSnapshot)
+	public BeltView(Belt b, boolean observeBelt) {
 		this.belt = b;
-		belt.registerBeltObserver(this);
+		if (observeBelt) {
+			belt.registerBeltObserver(this);
+		}
 		setLayout(new GridLayout(belt.getSize(), 1));
 
 		// creates vertical plate list (each is a panel)
 		plateView = new JPanel[belt.getSize()];
+		plateButtons = new JButton[belt.getSize()];
+		shownPlates = new Plate[belt.getSize()];
+		dirty = new BitSet(belt.getSize());
 
-		// adds panels to plateView
+		// adds panels to plateView, each with one button reused for whatever plate it shows
 		for (int i = 0; i < belt.getSize(); i++) {
 			JPanel panel = new JPanel();
 			panel.setMinimumSize(new Dimension(1150, 40));
@@ -59,66 +86,129 @@ public class BeltView extends JPanel implements BeltObserver {
 			panel.setBackground(Color.PINK);
 			add(panel);
 			plateView[i] = panel;
+
+			int position = i;
+			JButton button = new JButton();
+			button.setVisible(false);
+			button.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					Plate p = shownPlates[position];
+					if (p != null) {
+						int age = (shownSnapshot == null) ? belt.getAgeOfPlateAtPosition(position)
+								: shownSnapshot.getAge(position);
+						JOptionPane.showMessageDialog(null,
+								new PlateView(p, position, age).getInfo(),
+								"PLATE INFORMATION", JOptionPane.PLAIN_MESSAGE);
+					}
+				}
+			});
+			panel.add(button, BorderLayout.CENTER);
+			plateButtons[i] = button;
 		}
 		refresh();
 	}
 
-	// calls refresh() everytime BeltEvent occurs
+	// marks the changed positions and schedules one repaint for all events that arrive before it runs
 	@Override
 	public void handleBeltEvent(BeltEvent e) {
-		refresh();
+		synchronized (this) {
+			if (e.getType() == BeltEvent.EventType.ROTATE) {
+				// every plate moved one position
+				allDirty = true;
+			} else if (e.getType() != BeltEvent.EventType.ROTATION_SUMMARY) {
+				dirty.set(((PlateEvent) e).getPosition());
+			}
+			if (repaintPending) {
+				return;
+			}
+			repaintPending = true;
+		}
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				repaintDirty();
+			}
+		});
 	}
 
+	// updates every position whose plate differs from the one shown
 	public void refresh() {
-
-		// goes through every position on belt and modifies panels at each position
 		for (int i = 0; i < belt.getSize(); i++) {
-			Plate p = belt.getPlateAtPosition(i);
-			JPanel plate = plateView[i];
-			int position = i;
+			updatePosition(i);
+		}
+	}
 
-			// if no plate, empties panel and makes it pink
-			if (Objects.equals(p, null)) {
-				plate.setBackground(Color.PINK);
-				plate.removeAll();
-			} else {
-				String plateName = p.getContents().getName().toString().toUpperCase();
-				// makes panel same color as plate it represents
-				switch (p.getColor()) {
-				case RED:
-					plate.setBackground(Color.RED);
-					break;
-				case GREEN:
-					plate.setBackground(Color.GREEN);
-					break;
-				case BLUE:
-					plate.setBackground(Color.BLUE);
-					break;
-				case GOLD:
-					plate.setBackground(Color.YELLOW);
-					break;
-				}
+	// shows the snapshot, touching only positions whose plate changed since the last one
+	public void render(ModelSnapshot snapshot) {
+		shownSnapshot = snapshot;
+		for (int i = 0; i < snapshot.getSize(); i++) {
+			updatePosition(i, snapshot.getPlate(i));
+		}
+	}
 
-				if (plate.getComponentCount() > 0) {
-					plate.removeAll(); // removes button
-				}
-				
-				JButton button = new JButton(plateName + " PLATE");
-				button.setForeground(plate.getBackground().darker());
-				button.setVisible(true);
+	private void repaintDirty() {
+		BitSet positions;
+		boolean all;
+		synchronized (this) {
+			positions = (BitSet) dirty.clone();
+			all = allDirty;
+			dirty.clear();
+			allDirty = false;
+			repaintPending = false;
+		}
 
-				button.addActionListener(new ActionListener() {
-					@Override
-					public void actionPerformed(ActionEvent e) {
-						JOptionPane.showMessageDialog(null,
-								new PlateView(p, position, belt.getAgeOfPlateAtPosition(position)).getInfo(),
-								"PLATE INFORMATION", JOptionPane.PLAIN_MESSAGE);
-					}
-				});
-				plate.add(button, BorderLayout.CENTER);
+		if (all) {
+			refresh();
+		} else {
+			for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i+1)) {
+				updatePosition(i);
 			}
 		}
 	}
+
+	private void updatePosition(int position) {
+		updatePosition(position, belt.getPlateAtPosition(position));
+	}
+
+	private void updatePosition(int position, Plate p) {
+		if (p == shownPlates[position]) {
+			return;
+		}
+		shownPlates[position] = p;
+		JPanel plate = plateView[position];
+		JButton button = plateButtons[position];
+
+		// if no plate, hides button and makes panel pink
+		if (p == null) {
+			plate.setBackground(Color.PINK);
+			button.setVisible(false);
+			return;
+		}
+
+		// makes panel same color as plate it represents
+		plate.setBackground(colorOf(p.getColor()));
+
+		String plateName = p.getContents().getName().toString().toUpperCase();
+		button.setText(plateName + " PLATE");
+		button.setForeground(plate.getBackground().darker());
+		button.setVisible(true);
+	}
+
+	// display color of a plate, shared with VirtualBeltView
+	static Color colorOf(Plate.Color color) {
+		switch (color) {
+		case RED:
+			return Color.RED;
+		case GREEN:
+			return Color.GREEN;
+		case BLUE:
+			return Color.BLUE;
+		case GOLD:
+			return Color.YELLOW;
+		}
+		return Color.PINK;
+	}
 }
 
 /* HIGH TO LOW BALANCE COMPARATOR CLASS*/
@@ -134,6 +224,115 @@ public class HighToLowBalanceComparator implements Comparator<Chef> {
 	}			
 }
 
+/* LEADERBOARD CLASS */
+import sushiGame.model.Chef;
+import sushiGame.model.ModelSnapshot;
+
+// Chefs ranked high to low by balance in cents, ties kept in the order the chefs were given
+// (the same order a stable sort with HighToLowBalanceComparator produces). update() only moves
+// chefs whose balance changed, so a rotation where few balances move costs little to re-rank.
+public class Leaderboard {
+	private Chef[] ranked;
+	private long[] cents;
+	private int[] order;
+
+	public Leaderboard(Chef[] chefs) {
+		ranked = new Chef[chefs.length];
+		cents = new long[chefs.length];
+		order = new int[chefs.length];
+		for (int i=0; i<chefs.length; i++) {
+			ranked[i] = chefs[i];
+			cents[i] = toCents(chefs[i].getBalance());
+			order[i] = i;
+			moveUp(i);
+		}
+	}
+
+	public int size() {
+		return ranked.length;
+	}
+
+	public Chef getChef(int rank) {
+		return ranked[rank];
+	}
+
+	public long getCents(int rank) {
+		return cents[rank];
+	}
+
+	// Re-reads every balance and repositions the chefs whose cents changed. Returns whether any
+	// displayed balance changed.
+	public boolean update() {
+		boolean changed = false;
+		for (int i=0; i<ranked.length; i++) {
+			changed |= setCents(i, toCents(ranked[i].getBalance()));
+		}
+		if (changed) {
+			rerank();
+		}
+		return changed;
+	}
+
+	// Same as update() but takes the balances from a snapshot whose chefs are in the order given
+	// to the constructor.
+	public boolean update(ModelSnapshot snapshot) {
+		boolean changed = false;
+		for (int i=0; i<ranked.length; i++) {
+			changed |= setCents(i, toCents(snapshot.getBalance(order[i])));
+		}
+		if (changed) {
+			rerank();
+		}
+		return changed;
+	}
+
+	private boolean setCents(int rank, long c) {
+		if (c == cents[rank]) {
+			return false;
+		}
+		cents[rank] = c;
+		return true;
+	}
+
+	private void rerank() {
+		// Balances changed in place, so only the moved entries are out of order. Insertion
+		// passes over a nearly sorted array touch just those.
+		for (int i=1; i<ranked.length; i++) {
+			moveUp(i);
+		}
+	}
+
+	private void moveUp(int i) {
+		while (i > 0 && before(i, i-1)) {
+			swap(i, i-1);
+			i--;
+		}
+	}
+
+	private boolean before(int a, int b) {
+		if (cents[a] != cents[b]) {
+			return cents[a] > cents[b];
+		}
+		return order[a] < order[b];
+	}
+
+	private void swap(int a, int b) {
+		Chef chef = ranked[a];
+		ranked[a] = ranked[b];
+		ranked[b] = chef;
+		long c = cents[a];
+		cents[a] = cents[b];
+		cents[b] = c;
+		int o = order[a];
+		order[a] = order[b];
+		order[b] = o;
+	}
+
+	private static long toCents(double balance) {
+		return Math.round(balance*100.0);
+	}
+}
+
 /* PLATE VIEW CLASS */
 import java.awt.Dimension;
 import java.awt.GridLayout;
@@ -142,6 +341,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import sushiGame.sushi.IngredientPortion;
 import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sushi;
 
 public class PlateView extends JPanel {
 	private JPanel plateInfo;
@@ -154,7 +354,7 @@ public class PlateView extends JPanel {
 		plateInfo.setSize(new Dimension(100,100));
 		plateInfo.setVisible(true);
 	
-		IngredientPortion[] ing = plate.getContents().getIngredients().clone();
+		Sushi contents = plate.getContents();
 		
 		plateInfo.add(new JLabel("PLATE COLOR: "));
 		plateInfo.add(new JLabel(plate.getColor().toString().toLowerCase()));
@@ -170,11 +370,12 @@ public class PlateView extends JPanel {
 
 		plateInfo.add(new JLabel("INGREDIENTS: "));	
 
-		for (int i = 0; i < ing.length; i++) {
-			double amount = ((int) (ing[i].getAmount() * 100.0 + 0.5)) / 100.0;
-			String ingredient = ing[i].getName();
+		for (int i = 0; i < contents.getIngredientCount(); i++) {
+			IngredientPortion ing = contents.getIngredient(i);
+			double amount = ((int) (ing.getAmount() * 100.0 + 0.5)) / 100.0;
+			String ingredient = ing.getName();
 			plateInfo.add(new JLabel(ingredient + " 	(" + amount + " oz." + ")"));
-			if (!Objects.equals(ing.length -1, i)) {
+			if (!Objects.equals(contents.getIngredientCount() -1, i)) {
 				plateInfo.add(new JLabel(""));
 			}
 		}
@@ -264,19 +465,19 @@ public class PlayerChefView extends JPanel implements ActionListener {
 
 			{ switch (selectedSashimi) {
 			case "Tuna":
-				type = new Sashimi(Sashimi.SashimiType.TUNA);
+				type = Sashimi.getInstance(Sashimi.SashimiType.TUNA);
 				break;
 			case "Salmon":
-				type = new Sashimi(Sashimi.SashimiType.SALMON);
+				type = Sashimi.getInstance(Sashimi.SashimiType.SALMON);
 				break;
 			case "Eel":
-				type = new Sashimi(Sashimi.SashimiType.EEL);
+				type = Sashimi.getInstance(Sashimi.SashimiType.EEL);
 				break;
 			case "Crab":
-				type = new Sashimi(Sashimi.SashimiType.CRAB);
+				type = Sashimi.getInstance(Sashimi.SashimiType.CRAB);
 				break;
 			case "Shrimp":
-				type = new Sashimi(Sashimi.SashimiType.SHRIMP);
+				type = Sashimi.getInstance(Sashimi.SashimiType.SHRIMP);
 				break; } 
 			
 			Object[] possiblePositions = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20 };
@@ -292,19 +493,19 @@ public class PlayerChefView extends JPanel implements ActionListener {
 			
 			{ switch (selectedNigiri) {
 			case "Tuna":
-				type = new Nigiri(Nigiri.NigiriType.TUNA);
+				type = Nigiri.getInstance(Nigiri.NigiriType.TUNA);
 				break;
 			case "Salmon":
-				type = new Nigiri(Nigiri.NigiriType.SALMON);
+				type = Nigiri.getInstance(Nigiri.NigiriType.SALMON);
 				break;
 			case "Eel":
-				type = new Nigiri(Nigiri.NigiriType.EEL);
+				type = Nigiri.getInstance(Nigiri.NigiriType.EEL);
 				break;
 			case "Crab":
-				type = new Nigiri(Nigiri.NigiriType.CRAB);
+				type = Nigiri.getInstance(Nigiri.NigiriType.CRAB);
 				break;
 			case "Shrimp":
-				type = new Nigiri(Nigiri.NigiriType.SHRIMP);
+				type = Nigiri.getInstance(Nigiri.NigiriType.SHRIMP);
 				break; } 
 			Object[] possiblePositions = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20 };
 			int selectedPosition = (int) JOptionPane.showInputDialog(null, "Select a position to place your plate.", "",
@@ -499,17 +700,17 @@ public class PlayerChefView extends JPanel implements ActionListener {
 				JOptionPane.PLAIN_MESSAGE, null, possibleValues, possibleValues[0]).toString();
 		switch (selectedValue) {
 		case "Tuna":
-			return new Nigiri(Nigiri.NigiriType.TUNA);
+			return Nigiri.getInstance(Nigiri.NigiriType.TUNA);
 		case "Salmon":
-			return new Nigiri(Nigiri.NigiriType.SALMON);
+			return Nigiri.getInstance(Nigiri.NigiriType.SALMON);
 		case "Eel":
-			return new Nigiri(Nigiri.NigiriType.EEL);
+			return Nigiri.getInstance(Nigiri.NigiriType.EEL);
 		case "Crab":
-			return new Nigiri(Nigiri.NigiriType.CRAB);
+			return Nigiri.getInstance(Nigiri.NigiriType.CRAB);
 		case "Shrimp":
-			return new Nigiri(Nigiri.NigiriType.SHRIMP);
+			return Nigiri.getInstance(Nigiri.NigiriType.SHRIMP);
 		}
-		return new Nigiri(Nigiri.NigiriType.TUNA);
+		return Nigiri.getInstance(Nigiri.NigiriType.TUNA);
 	}
 
 	public void registerChefListener(ChefViewListener cl) {
@@ -543,57 +744,79 @@ public class PlayerChefView extends JPanel implements ActionListener {
 
 /* SCOREBOARD WIDGET CLASS */
 import java.awt.BorderLayout;
-import java.util.Arrays;
+import java.util.EnumSet;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import sushiGame.model.BeltEvent;
 import sushiGame.model.BeltObserver;
 import sushiGame.model.Chef;
+import sushiGame.model.ModelSnapshot;
 import sushiGame.model.SushiGameModel;
 
 public class ScoreboardWidget extends JPanel implements BeltObserver {
 
 	private SushiGameModel game_model;
 	private JLabel display;
+	private Leaderboard leaderboard;
+	private StringBuilder sb_html;
 	
 	public ScoreboardWidget(SushiGameModel gm) {
+		this(gm, true);
+	}
+
+	// With observe_belt false the widget only changes through refresh() and render(ModelSnapshot).
+	public ScoreboardWidget(SushiGameModel gm, boolean observe_belt) {
 		game_model = gm;
-		game_model.getBelt().registerBeltObserver(this);
+		if (observe_belt) {
+			game_model.getBelt().registerBeltObserver(this, EnumSet.of(BeltEvent.EventType.ROTATE));
+		}
 		display = new JLabel();
 		display.setVerticalAlignment(SwingConstants.TOP);
 		setLayout(new BorderLayout());
 		add(display, BorderLayout.CENTER);
-		display.setText(makeScoreboardHTML());
-	}
 
-	private String makeScoreboardHTML() {
-		String sb_html = "<html>";
-		sb_html += "<h1>Scoreboard</h1>";
-
-		// Create an array of all chefs and sort by balance.
+		// Create an array of all chefs, ranked by balance.
 		Chef[] opponent_chefs= game_model.getOpponentChefs();
 		Chef[] chefs = new Chef[opponent_chefs.length+1];
 		chefs[0] = game_model.getPlayerChef();
 		for (int i=1; i<chefs.length; i++) {
 			chefs[i] = opponent_chefs[i-1];
 		}
-		Arrays.sort(chefs, new HighToLowBalanceComparator());
+		leaderboard = new Leaderboard(chefs);
+		sb_html = new StringBuilder();
+		display.setText(makeScoreboardHTML());
+	}
+
+	private String makeScoreboardHTML() {
+		sb_html.setLength(0);
+		sb_html.append("<html>");
+		sb_html.append("<h1>Scoreboard</h1>");
 		
-		for (Chef c : chefs) {
-			sb_html += c.getName() + " ($" + Math.round(c.getBalance()*100.0)/100.0 + ") <br>";
+		for (int i=0; i<leaderboard.size(); i++) {
+			sb_html.append(leaderboard.getChef(i).getName()).append(" ($")
+				.append(leaderboard.getCents(i)/100.0).append(") <br>");
 		}
-		return sb_html;
+		return sb_html.toString();
 	}
 
+	// Always redraws, so renamed chefs show up even if no balance changed.
 	public void refresh() {
-		display.setText(makeScoreboardHTML());		
+		leaderboard.update();
+		display.setText(makeScoreboardHTML());
+	}
+
+	// Only touches the label when a displayed balance, and so possibly the ranking, changed.
+	public void render(ModelSnapshot snapshot) {
+		if (leaderboard.update(snapshot)) {
+			display.setText(makeScoreboardHTML());
+		}
 	}
 	
 	@Override
 	public void handleBeltEvent(BeltEvent e) {
-		if (e.getType() == BeltEvent.EventType.ROTATE) {
-			refresh();
+		if (e.getType() == BeltEvent.EventType.ROTATE && leaderboard.update()) {
+			display.setText(makeScoreboardHTML());
 		}		
 	}
 }
@@ -606,39 +829,81 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.Timer;
 
-import sushiGame.model.BeltEvent;
-import sushiGame.model.BeltObserver;
+import sushiGame.model.ModelSnapshot;
+import sushiGame.model.SnapshotPublisher;
 import sushiGame.model.SushiGameModel;
 
-public class SushiGameView extends JPanel implements ActionListener, BeltObserver {
+// Renders from model snapshots on a fixed-rate Swing timer, so however fast the model rotates
+// the view paints at most RENDER_RATE times a second and the model never waits on painting.
+public class SushiGameView extends JPanel implements ActionListener {
+	static final int VIRTUAL_BELT_VIEW_THRESHOLD = 200;
+	static final int RENDER_RATE = 60;
+	
+	// tick rates offered for auto rotation, 0 meaning as fast as possible
+	private static final String[] TICK_RATE_NAMES = {"1/s", "2/s", "5/s", "20/s", "100/s", "1000/s", "Max"};
+	private static final double[] TICK_RATES = {1, 2, 5, 20, 100, 1000, 0};
+	
 	private PlayerChefView player_chef_ui;
 	private List<RotationRequestListener> rotation_request_listeners;
+	private List<AutoRotationListener> auto_rotation_listeners;
+	private JButton rotate_button;
+	private JButton auto_button;
+	private JComboBox<String> tick_rate_box;
+	private boolean auto_rotating;
 	private JLabel controller_messages;
 	ScoreboardWidget scoreboard;
+	private BeltView belt_view;
+	private VirtualBeltView virtual_belt_view;
+	private SnapshotPublisher snapshot_publisher;
+	private ModelSnapshot rendered_snapshot;
+	private Timer render_timer;
 	
 	public SushiGameView(SushiGameModel game_model) {
 		setLayout(new BorderLayout());
 		
-		scoreboard = new ScoreboardWidget(game_model);
+		scoreboard = new ScoreboardWidget(game_model, false);
 		add(scoreboard, BorderLayout.WEST);
 				
 		player_chef_ui = new PlayerChefView(game_model.getBelt().getSize());
 		add(player_chef_ui, BorderLayout.EAST);
 		
-		BeltView belt_view = new BeltView(game_model.getBelt());
-		add(belt_view, BorderLayout.CENTER);
+		// one panel per position stops scaling after a few hundred, so big belts are painted instead
+		if (game_model.getBelt().getSize() > VIRTUAL_BELT_VIEW_THRESHOLD) {
+			virtual_belt_view = new VirtualBeltView(game_model.getBelt(), false);
+			add(new JScrollPane(virtual_belt_view), BorderLayout.CENTER);
+		} else {
+			belt_view = new BeltView(game_model.getBelt(), false);
+			add(belt_view, BorderLayout.CENTER);
+		}
 		
 		JPanel bottom_panel = new JPanel();
 		bottom_panel.setLayout(new BorderLayout());
 		
-		JButton rotate_button = new JButton("Rotate");
+		JPanel rotation_panel = new JPanel();
+		
+		rotate_button = new JButton("Rotate");
 		rotate_button.setActionCommand("rotate");
 		rotate_button.addActionListener(this);
+		rotation_panel.add(rotate_button);
 		
-		bottom_panel.add(rotate_button, BorderLayout.WEST);
+		auto_button = new JButton("Auto");
+		auto_button.setActionCommand("auto");
+		auto_button.addActionListener(this);
+		rotation_panel.add(auto_button);
+		
+		tick_rate_box = new JComboBox<String>(TICK_RATE_NAMES);
+		tick_rate_box.setSelectedIndex(1);
+		tick_rate_box.setActionCommand("tick_rate");
+		tick_rate_box.addActionListener(this);
+		rotation_panel.add(tick_rate_box);
+		
+		bottom_panel.add(rotation_panel, BorderLayout.WEST);
 		
 		controller_messages = new JLabel("Controller messages.");
 		bottom_panel.add(controller_messages, BorderLayout.CENTER);
@@ -646,8 +911,51 @@ public class SushiGameView extends JPanel implements ActionListener, BeltObserve
 		add(bottom_panel, BorderLayout.SOUTH);
 		
 		rotation_request_listeners = new ArrayList<RotationRequestListener>();
+		auto_rotation_listeners = new ArrayList<AutoRotationListener>();
+		
+		// The controller starts driving the model after the view is built, so attaching here is safe.
+		snapshot_publisher = game_model.createSnapshotPublisher();
+		snapshot_publisher.attach();
+		render_timer = new Timer(1000 / RENDER_RATE, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				renderLatestSnapshot();
+			}
+		});
+		renderLatestSnapshot();
+		render_timer.start();
+	}
+	
+	// Only call once nothing drives the model any more, as the publisher detaches from the belt.
+	public void stopRendering() {
+		render_timer.stop();
+		snapshot_publisher.detach();
+	}
+	
+	// Draws the newest published snapshot, if any arrived since the last frame, and asks for the next.
+	// BeltView shows every position, VirtualBeltView only needs the rows around its viewport.
+	private void renderLatestSnapshot() {
+		if (belt_view != null) {
+			snapshot_publisher.requestSnapshot();
+		} else {
+			snapshot_publisher.requestSnapshot(virtual_belt_view.getFirstSnapshotPosition(), 
+					virtual_belt_view.getSnapshotPositionCount());
+		}
+		ModelSnapshot snapshot = snapshot_publisher.getLatest();
+		if (snapshot == rendered_snapshot) {
+			return;
+		}
+		if (rendered_snapshot != null && snapshot.getRotation() != rendered_snapshot.getRotation()) {
+			controller_messages.setText("");
+		}
+		rendered_snapshot = snapshot;
 		
-		game_model.getBelt().registerBeltObserver(this);
+		if (belt_view != null) {
+			belt_view.render(snapshot);
+		} else {
+			virtual_belt_view.render(snapshot);
+		}
+		scoreboard.render(snapshot);
 	}
 	
 	public void registerPlayerChefListener(ChefViewListener cl) {
@@ -657,6 +965,10 @@ public class SushiGameView extends JPanel implements ActionListener, BeltObserve
 	public void registerRotationRequestListener(RotationRequestListener rrl) {
 		rotation_request_listeners.add(rrl);
 	}
+	
+	public void registerAutoRotationListener(AutoRotationListener arl) {
+		auto_rotation_listeners.add(arl);
+	}
 
 	@Override
 	public void actionPerformed(ActionEvent e) {
@@ -664,21 +976,184 @@ public class SushiGameView extends JPanel implements ActionListener, BeltObserve
 			for (RotationRequestListener rrl : rotation_request_listeners) {
 				rrl.handleRotationRequest();
 			}
+		} else if (e.getActionCommand().equals("auto")) {
+			// Rotate steps a paused belt, so it is only useful while auto rotation is off.
+			auto_rotating = !auto_rotating;
+			auto_button.setText(auto_rotating ? "Pause" : "Auto");
+			rotate_button.setEnabled(!auto_rotating);
+			for (AutoRotationListener arl : auto_rotation_listeners) {
+				arl.handleAutoRotationRequest(auto_rotating);
+			}
+		} else if (e.getActionCommand().equals("tick_rate")) {
+			double ticks_per_second = TICK_RATES[tick_rate_box.getSelectedIndex()];
+			for (AutoRotationListener arl : auto_rotation_listeners) {
+				arl.handleTickRateRequest(ticks_per_second);
+			}
 		}
 	}
 	
 	public void setControllerMessage(String message) {
 		controller_messages.setText(message);
 	}
+	
+	public void refreshScoreboard() {
+		scoreboard.refresh();
+	}
+}
+
+/* VIRTUAL BELT VIEW CLASS */
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import sushiGame.sushi.Plate;
+import sushiGame.model.Belt;
+import sushiGame.model.BeltEvent;
+import sushiGame.model.BeltObserver;
+import sushiGame.model.ModelSnapshot;
+import sushiGame.model.PlateEvent;
+
+// Draws the belt as rows painted in one paintComponent, visiting only the rows inside the clip,
+// so belts far too large for BeltView's panel per position stay responsive. Meant to sit in a
+// JScrollPane. Clicking a row with a plate opens the same plate information as BeltView.
+public class VirtualBeltView extends JComponent implements BeltObserver, Scrollable {
+	private static final long serialVersionUID = 1L;
+	static final int ROW_HEIGHT = 40;
+	static final int ROW_WIDTH = 1150;
+	// rows captured beyond each edge of the viewport, so a short scroll does not outrun the snapshot
+	static final int SNAPSHOT_MARGIN_ROWS = 20;
+
+	private Belt belt;
+	private ModelSnapshot snapshot;
+
+	public VirtualBeltView(Belt b) {
+		this(b, true);
+	}
+
+	// With observe_belt false the view paints the last snapshot given to render(ModelSnapshot).
+	public VirtualBeltView(Belt b, boolean observe_belt) {
+		belt = b;
+		if (observe_belt) {
+			belt.registerBeltObserver(this);
+		}
+		setOpaque(true);
+		setPreferredSize(new Dimension(ROW_WIDTH, belt.getSize() * ROW_HEIGHT));
+
+		addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				int position = positionAt(e.getY());
+				if (position < 0) {
+					return;
+				}
+				Plate p = plateAt(position);
+				if (p != null) {
+					int age = (snapshot == null) ? belt.getAgeOfPlateAtPosition(position) : snapshot.getAge(position);
+					JOptionPane.showMessageDialog(null,
+							new PlateView(p, position, age).getInfo(),
+							"PLATE INFORMATION", JOptionPane.PLAIN_MESSAGE);
+				}
+			}
+		});
+	}
 
+	// repaint requests are merged by Swing, so a rotation's events cost one paint of the visible rows
 	@Override
 	public void handleBeltEvent(BeltEvent e) {
 		if (e.getType() == BeltEvent.EventType.ROTATE) {
-			controller_messages.setText("");
+			repaint();
+		} else if (e.getType() != BeltEvent.EventType.ROTATION_SUMMARY) {
+			repaint(0, ((PlateEvent) e).getPosition() * ROW_HEIGHT, getWidth(), ROW_HEIGHT);
 		}
 	}
-	
-	public void refreshScoreboard() {
-		scoreboard.refresh();
+
+	public void render(ModelSnapshot s) {
+		snapshot = s;
+		repaint();
+	}
+
+	// first and count of the positions the next snapshot should hold: the visible rows and a margin
+	int getFirstSnapshotPosition() {
+		return Math.max(0, getVisibleRect().y / ROW_HEIGHT - SNAPSHOT_MARGIN_ROWS);
+	}
+
+	int getSnapshotPositionCount() {
+		Rectangle visible = getVisibleRect();
+		int last = Math.min(belt.getSize() - 1, (visible.y + visible.height) / ROW_HEIGHT + SNAPSHOT_MARGIN_ROWS);
+		return Math.max(0, last - getFirstSnapshotPosition() + 1);
+	}
+
+	// belt position of the row at y, or -1 outside the belt
+	int positionAt(int y) {
+		if (y < 0 || y >= belt.getSize() * ROW_HEIGHT) {
+			return -1;
+		}
+		return y / ROW_HEIGHT;
+	}
+
+	Plate plateAt(int position) {
+		return (snapshot == null) ? belt.getPlateAtPosition(position) : snapshot.getPlate(position);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		int first = Math.max(0, clip.y / ROW_HEIGHT);
+		int last = Math.min(belt.getSize() - 1, (clip.y + clip.height - 1) / ROW_HEIGHT);
+		FontMetrics metrics = g.getFontMetrics();
+		int text_offset = (ROW_HEIGHT + metrics.getAscent() - metrics.getDescent()) / 2;
+
+		for (int position = first; position <= last; position++) {
+			int y = position * ROW_HEIGHT;
+			Plate p = plateAt(position);
+			Color background = (p == null) ? Color.PINK : BeltView.colorOf(p.getColor());
+			g.setColor(background);
+			g.fillRect(clip.x, y, clip.width, ROW_HEIGHT);
+			if (p != null) {
+				String label = p.getContents().getName().toUpperCase() + " PLATE";
+				g.setColor(background.darker());
+				g.drawString(label, (getWidth() - metrics.stringWidth(label)) / 2, y + text_offset);
+			}
+			g.setColor(Color.WHITE);
+			g.drawLine(clip.x, y + ROW_HEIGHT - 1, clip.x + clip.width, y + ROW_HEIGHT - 1);
+		}
+	}
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return new Dimension(ROW_WIDTH, Math.min(belt.getSize(), 20) * ROW_HEIGHT);
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+		return (orientation == SwingConstants.VERTICAL) ? ROW_HEIGHT : 10;
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+		if (orientation == SwingConstants.VERTICAL) {
+			return Math.max(ROW_HEIGHT, (visible.height / ROW_HEIGHT) * ROW_HEIGHT);
+		}
+		return visible.width;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return true;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
 	}
 }
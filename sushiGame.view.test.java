@@ -0,0 +1,306 @@
+/* package in test folder for Sushi-Game containing tests of view component
+* Run headless (-Djava.awt.headless=true); no test opens a window.
+* Classes: BeltViewTest.java, LeaderboardTest.java, ScoreboardWidgetTest.java,
+* VirtualBeltViewTest.java
+*/
+
+package test.sushiGame.view;
+
+/* BELT VIEW TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.awt.Color;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.junit.Test;
+import sushiGame.model.Belt;
+import sushiGame.model.Chef;
+import sushiGame.model.ModelSnapshot;
+import sushiGame.model.SushiGameModel;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sashimi;
+
+public class BeltViewTest {
+
+	private static JPanel panelAt(BeltView view, int position) {
+		return (JPanel) view.getComponent(position);
+	}
+
+	private static JButton buttonAt(BeltView view, int position) {
+		return (JButton) panelAt(view, position).getComponent(0);
+	}
+
+	// Runs the repaint the view scheduled for the events delivered so far.
+	private static void flushEventQueue() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+	}
+
+	private static void assertShows(BeltView view, int position, Plate p) {
+		if (p == null) {
+			assertEquals(Color.PINK, panelAt(view, position).getBackground());
+			assertTrue(!buttonAt(view, position).isVisible());
+		} else {
+			assertEquals(BeltView.colorOf(p.getColor()), panelAt(view, position).getBackground());
+			assertTrue(buttonAt(view, position).isVisible());
+			assertEquals(p.getContents().getName().toUpperCase() + " PLATE", buttonAt(view, position).getText());
+		}
+	}
+
+	@Test
+	public void beltEventsUpdateChangedPositions() throws Exception {
+		SushiGameModel game_model = new SushiGameModel(10, 0, 0, 1L);
+		Belt belt = game_model.getBelt();
+		Chef chef = game_model.getPlayerChef();
+		BeltView view = new BeltView(belt);
+		for (int i=0; i<belt.getSize(); i++) {
+			assertShows(view, i, null);
+		}
+
+		Plate plate = new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.TUNA));
+		chef.makeAndPlacePlate(plate, 3);
+		flushEventQueue();
+		assertShows(view, 3, plate);
+
+		belt.rotate();
+		flushEventQueue();
+		for (int i=0; i<belt.getSize(); i++) {
+			assertShows(view, i, belt.getPlateAtPosition(i));
+		}
+		assertShows(view, 4, plate);
+	}
+
+	@Test
+	public void renderShowsSnapshotNotBelt() throws Exception {
+		SushiGameModel game_model = new SushiGameModel(10, 0, 0, 1L);
+		Belt belt = game_model.getBelt();
+		Chef chef = game_model.getPlayerChef();
+		BeltView view = new BeltView(belt, false);
+
+		Plate[] plates = new Plate[belt.getSize()];
+		int[] ages = new int[belt.getSize()];
+		plates[2] = new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.EEL));
+		plates[7] = new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.SALMON));
+		view.render(new ModelSnapshot(0, plates, ages, new Chef[] {chef}, new double[] {100.0}));
+		for (int i=0; i<belt.getSize(); i++) {
+			assertShows(view, i, plates[i]);
+		}
+
+		// An unobserved belt change does not reach the view; the next snapshot replaces the last.
+		chef.makeAndPlacePlate(new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.TUNA)), 5);
+		flushEventQueue();
+		assertShows(view, 5, null);
+		plates[2] = null;
+		view.render(new ModelSnapshot(1, plates, ages, new Chef[] {chef}, new double[] {100.0}));
+		assertShows(view, 2, null);
+		assertShows(view, 7, plates[7]);
+	}
+}
+
+/* LEADERBOARD TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import org.junit.Test;
+import sushiGame.controller.HeadlessGameController;
+import sushiGame.model.Chef;
+import sushiGame.model.ModelSnapshot;
+import sushiGame.model.SushiGameModel;
+import sushiGame.sushi.Plate;
+
+public class LeaderboardTest {
+
+	private static Chef[] getAllChefs(SushiGameModel game_model) {
+		Chef[] opponents = game_model.getOpponentChefs();
+		Chef[] chefs = new Chef[opponents.length+1];
+		chefs[0] = game_model.getPlayerChef();
+		System.arraycopy(opponents, 0, chefs, 1, opponents.length);
+		return chefs;
+	}
+
+	private static void assertRankedLikeStableSort(Chef[] chefs, Leaderboard leaderboard) {
+		Chef[] sorted = chefs.clone();
+		Arrays.sort(sorted, new HighToLowBalanceComparator());
+		assertEquals(sorted.length, leaderboard.size());
+		for (int i=0; i<sorted.length; i++) {
+			assertSame(sorted[i], leaderboard.getChef(i));
+			assertEquals(Math.round(sorted[i].getBalance()*100.0), leaderboard.getCents(i));
+		}
+	}
+
+	// Every chef starts at the same balance, so the early rounds are mostly ties.
+	@Test
+	public void updateRanksLikeStableSort() {
+		SushiGameModel game_model = new SushiGameModel(30, 10, 8, 3L);
+		HeadlessGameController controller = new HeadlessGameController(game_model);
+		Chef[] chefs = getAllChefs(game_model);
+		Leaderboard leaderboard = new Leaderboard(chefs);
+		assertRankedLikeStableSort(chefs, leaderboard);
+
+		for (int round=0; round<300; round++) {
+			controller.rotate(1);
+			leaderboard.update();
+			assertRankedLikeStableSort(chefs, leaderboard);
+		}
+		assertTrue(!leaderboard.update());
+	}
+
+	@Test
+	public void updateFromSnapshotUsesConstructorOrder() {
+		Chef[] chefs = getAllChefs(new SushiGameModel(10, 2, 2, 1L));
+		Leaderboard leaderboard = new Leaderboard(chefs);
+
+		ModelSnapshot snapshot = new ModelSnapshot(0, new Plate[0], new int[0],
+				chefs, new double[] {50.0, 150.0, 100.0});
+		assertTrue(leaderboard.update(snapshot));
+		assertSame(chefs[1], leaderboard.getChef(0));
+		assertSame(chefs[2], leaderboard.getChef(1));
+		assertSame(chefs[0], leaderboard.getChef(2));
+		assertEquals(5000, leaderboard.getCents(2));
+		assertTrue(!leaderboard.update(snapshot));
+	}
+}
+
+/* SCOREBOARD WIDGET TEST CLASS */
+import static org.junit.Assert.assertTrue;
+import javax.swing.JLabel;
+import org.junit.Test;
+import sushiGame.model.SushiGameModel;
+
+public class ScoreboardWidgetTest {
+
+	private static String displayedText(ScoreboardWidget scoreboard) {
+		return ((JLabel) scoreboard.getComponent(0)).getText();
+	}
+
+	@Test
+	public void refreshShowsRenamedChefs() {
+		SushiGameModel game_model = new SushiGameModel(10, 2, 2, 1L);
+		ScoreboardWidget scoreboard = new ScoreboardWidget(game_model, false);
+		assertTrue(displayedText(scoreboard).contains("Opponent Chef 1"));
+
+		game_model.getOpponentChefs()[1].setName("Renamed Chef");
+		scoreboard.refresh();
+		assertTrue(displayedText(scoreboard).contains("Renamed Chef"));
+		assertTrue(!displayedText(scoreboard).contains("Opponent Chef 1"));
+	}
+}
+
+/* VIRTUAL BELT VIEW TEST CLASS */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import javax.swing.JViewport;
+import org.junit.Test;
+import sushiGame.model.Belt;
+import sushiGame.model.Chef;
+import sushiGame.model.ModelSnapshot;
+import sushiGame.model.SushiGameModel;
+import sushiGame.sushi.BluePlate;
+import sushiGame.sushi.Plate;
+import sushiGame.sushi.Sashimi;
+
+public class VirtualBeltViewTest {
+
+	private static final int ROW = VirtualBeltView.ROW_HEIGHT;
+
+	// Paints the rows first to last into a transparent image; rows outside stay transparent.
+	private static BufferedImage paintRows(VirtualBeltView view, int first, int last) {
+		BufferedImage image = new BufferedImage(view.getWidth(), view.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setClip(0, first * ROW, view.getWidth(), (last - first + 1) * ROW);
+		view.paintComponent(g);
+		g.dispose();
+		return image;
+	}
+
+	// Row background, sampled at the left edge away from the centred label and the divider.
+	private static int rowColor(BufferedImage image, int position) {
+		return image.getRGB(2, position * ROW + 2);
+	}
+
+	private static VirtualBeltView createView(Belt belt) {
+		VirtualBeltView view = new VirtualBeltView(belt, false);
+		view.setSize(VirtualBeltView.ROW_WIDTH, belt.getSize() * ROW);
+		return view;
+	}
+
+	@Test
+	public void paintsOnlyRowsInsideClip() throws Exception {
+		SushiGameModel game_model = new SushiGameModel(10, 0, 0, 1L);
+		Chef chef = game_model.getPlayerChef();
+		chef.makeAndPlacePlate(new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.TUNA)), 3);
+		VirtualBeltView view = createView(game_model.getBelt());
+
+		BufferedImage image = paintRows(view, 2, 4);
+		assertEquals(0, rowColor(image, 1));
+		assertEquals(Color.PINK.getRGB(), rowColor(image, 2));
+		assertEquals(Color.BLUE.getRGB(), rowColor(image, 3));
+		assertEquals(Color.PINK.getRGB(), rowColor(image, 4));
+		assertEquals(0, rowColor(image, 5));
+	}
+
+	@Test
+	public void paintsSnapshotOnceRendered() throws Exception {
+		SushiGameModel game_model = new SushiGameModel(10, 0, 0, 1L);
+		Chef chef = game_model.getPlayerChef();
+		chef.makeAndPlacePlate(new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.TUNA)), 3);
+		VirtualBeltView view = createView(game_model.getBelt());
+
+		Plate[] plates = new Plate[10];
+		plates[7] = new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.SALMON));
+		view.render(new ModelSnapshot(0, plates, new int[10], new Chef[] {chef}, new double[] {100.0}));
+
+		BufferedImage image = paintRows(view, 0, 9);
+		for (int i=0; i<10; i++) {
+			assertEquals((i == 7) ? Color.BLUE.getRGB() : Color.PINK.getRGB(), rowColor(image, i));
+		}
+		assertSame(plates[7], view.plateAt(7));
+	}
+
+	@Test
+	public void snapshotRangeCoversViewportAndMargin() {
+		SushiGameModel game_model = new SushiGameModel(1000, 0, 0, 1L);
+		VirtualBeltView view = createView(game_model.getBelt());
+		JViewport viewport = new JViewport();
+		viewport.setView(view);
+		viewport.setSize(VirtualBeltView.ROW_WIDTH, 10 * ROW);
+
+		viewport.setViewPosition(new Point(0, 0));
+		assertEquals(0, view.getFirstSnapshotPosition());
+		assertEquals(10 + VirtualBeltView.SNAPSHOT_MARGIN_ROWS + 1, view.getSnapshotPositionCount());
+
+		viewport.setViewPosition(new Point(0, 500 * ROW));
+		assertEquals(500 - VirtualBeltView.SNAPSHOT_MARGIN_ROWS, view.getFirstSnapshotPosition());
+		assertEquals(10 + 2 * VirtualBeltView.SNAPSHOT_MARGIN_ROWS + 1, view.getSnapshotPositionCount());
+
+		viewport.setViewPosition(new Point(0, 990 * ROW));
+		assertEquals(1000 - view.getFirstSnapshotPosition(), view.getSnapshotPositionCount());
+	}
+
+	@Test
+	public void positionAtMapsRowsAndRejectsOutside() throws Exception {
+		SushiGameModel game_model = new SushiGameModel(10, 0, 0, 1L);
+		Chef chef = game_model.getPlayerChef();
+		Plate plate = new BluePlate(chef, Sashimi.getInstance(Sashimi.SashimiType.TUNA));
+		chef.makeAndPlacePlate(plate, 3);
+		VirtualBeltView view = createView(game_model.getBelt());
+
+		assertEquals(-1, view.positionAt(-1));
+		assertEquals(0, view.positionAt(0));
+		assertEquals(0, view.positionAt(ROW - 1));
+		assertEquals(1, view.positionAt(ROW));
+		assertEquals(9, view.positionAt(10 * ROW - 1));
+		assertEquals(-1, view.positionAt(10 * ROW));
+		assertSame(plate, view.plateAt(view.positionAt(3 * ROW + ROW / 2)));
+	}
+}